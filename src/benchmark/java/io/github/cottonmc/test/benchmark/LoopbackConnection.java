@@ -0,0 +1,82 @@
+package io.github.cottonmc.test.benchmark;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.registry.DynamicRegistryManager;
+
+import io.github.cottonmc.cotton.gui.impl.ScreenNetworkingImpl;
+import io.netty.buffer.Unpooled;
+
+/**
+ * An in-memory connection that encodes each packet with its packet codec,
+ * decodes it again and passes it to the networking handler on the other side.
+ */
+final class LoopbackConnection implements ScreenNetworkingImpl.Connection {
+	private final int syncId;
+	private final DynamicRegistryManager registryManager;
+	private final RegistryByteBuf buf;
+	private ScreenNetworkingImpl target;
+	private long packets = 0;
+	private long bytes = 0;
+
+	LoopbackConnection(int syncId, DynamicRegistryManager registryManager) {
+		this.syncId = syncId;
+		this.registryManager = registryManager;
+		this.buf = new RegistryByteBuf(Unpooled.buffer(), registryManager);
+	}
+
+	void connect(ScreenNetworkingImpl target) {
+		this.target = target;
+	}
+
+	long getPackets() {
+		return packets;
+	}
+
+	long getBytes() {
+		return bytes;
+	}
+
+	void resetCounters() {
+		packets = 0;
+		bytes = 0;
+	}
+
+	@Override
+	public int getSyncId() {
+		return syncId;
+	}
+
+	@Override
+	public DynamicRegistryManager getRegistryManager() {
+		return registryManager;
+	}
+
+	@Override
+	public void sendPacket(CustomPayload packet) {
+		buf.clear();
+		CustomPayload received;
+
+		switch (packet) {
+			case ScreenNetworkingImpl.ScreenMessage message -> {
+				ScreenNetworkingImpl.ScreenMessage.CODEC.encode(buf, message);
+				bytes += buf.readableBytes();
+				received = ScreenNetworkingImpl.ScreenMessage.CODEC.decode(buf);
+			}
+			case ScreenNetworkingImpl.ScreenMessageBatch batch -> {
+				ScreenNetworkingImpl.ScreenMessageBatch.CODEC.encode(buf, batch);
+				bytes += buf.readableBytes();
+				received = ScreenNetworkingImpl.ScreenMessageBatch.CODEC.decode(buf);
+			}
+			default -> throw new IllegalArgumentException("Unknown packet: " + packet);
+		}
+
+		packets++;
+		target.handlePacket(Runnable::run, received);
+	}
+
+	@Override
+	public String toString() {
+		return "LoopbackConnection[syncId=" + syncId + "]";
+	}
+}
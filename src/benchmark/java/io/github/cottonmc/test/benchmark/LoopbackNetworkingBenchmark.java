@@ -0,0 +1,193 @@
+package io.github.cottonmc.test.benchmark;
+
+import com.mojang.serialization.Codec;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.util.Identifier;
+
+import com.sun.management.ThreadMXBean;
+import io.github.cottonmc.cotton.gui.impl.AbstractDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.DataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.DataSlotSync;
+import io.github.cottonmc.cotton.gui.impl.IntDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.ListDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.ScreenNetworkingImpl;
+import io.github.cottonmc.cotton.gui.impl.TickCounter;
+import io.github.cottonmc.cotton.gui.networking.DataSlot;
+import io.github.cottonmc.cotton.gui.networking.IntDataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * A headless throughput benchmark for screen networking.
+ *
+ * <p>A server and a client networking handler are connected with {@link LoopbackConnection}s.
+ * Both sides add the same data slots to a {@link DataSlotSync}, and each simulated tick changes every data slot
+ * on the server and sends the updates with {@link DataSlotSync#sendUpdates()}, like GUI descriptions do every tick.
+ * The benchmark reports the throughput, the bytes on the wire per update and
+ * the allocated bytes per update.
+ *
+ * <p>Run with {@code ./gradlew networkingBenchmark}. The optional arguments are
+ * the number of ticks and the number of data slots.
+ */
+public final class LoopbackNetworkingBenchmark {
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+	// The number of distinct ticks with precomputed values, which are repeated
+	private static final int VALUE_TICKS = 16;
+	private static final int SYNC_ID = 1;
+
+	private final int ticks;
+	private final int slotCount;
+
+	private LoopbackNetworkingBenchmark(int ticks, int slotCount) {
+		this.ticks = ticks;
+		this.slotCount = slotCount;
+	}
+
+	public static void main(String[] args) {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+
+		int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int slotCount = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		var benchmark = new LoopbackNetworkingBenchmark(ticks, slotCount);
+
+		System.out.printf(Locale.ROOT, "%d ticks, %d data slots%n", ticks, slotCount);
+		benchmark.<Integer>run("int data slot", (sync, i, onReceived) -> {
+			IntDataSlot slot = sync.add(new IntDataSlotImpl(sync, id("int", i), -1, NetworkDirection.SERVER_TO_CLIENT));
+			slot.addChangeListener((s, from, to) -> onReceived.run());
+			return slot::set;
+		}, (tick, i) -> tick * 31 + i);
+		benchmark.<Integer>run(
+			"nbt codec int",
+			dataSlot((sync, i) -> new DataSlotImpl<>(sync, new ScreenMessageKey<>(id("nbt_int", i), Codec.INT), -1, NetworkDirection.SERVER_TO_CLIENT)),
+			(tick, i) -> tick * 31 + i
+		);
+		benchmark.<String>run(
+			"packet codec string",
+			dataSlot((sync, i) -> new DataSlotImpl<>(sync, new ScreenMessageKey<>(id("string", i), PacketCodecs.STRING), "", NetworkDirection.SERVER_TO_CLIENT)),
+			(tick, i) -> "value " + tick
+		);
+		benchmark.<List<Integer>>run(
+			"int list data slot",
+			dataSlot((sync, i) -> new ListDataSlotImpl<>(sync, id("list", i), PacketCodecs.VAR_INT, List.of(), NetworkDirection.SERVER_TO_CLIENT)),
+			(tick, i) -> IntStream.range(0, 64).map(n -> n + tick).boxed().toList()
+		);
+	}
+
+	private static Identifier id(String prefix, int index) {
+		return Identifier.of("libgui_benchmark", prefix + "_" + index);
+	}
+
+	private static <D> SlotFactory<D> dataSlot(BiFunction<DataSlotSync, Integer, ? extends AbstractDataSlotImpl<D>> constructor) {
+		return (sync, i, onReceived) -> {
+			DataSlot<D> slot = sync.add(constructor.apply(sync, i));
+			slot.addChangeListener((s, from, to) -> onReceived.run());
+			return slot::set;
+		};
+	}
+
+	private <D> void run(String name, SlotFactory<D> slotFactory, ValueFactory<D> valueFactory) {
+		var serverConnection = new LoopbackConnection(SYNC_ID, DynamicRegistryManager.EMPTY);
+		var clientConnection = new LoopbackConnection(SYNC_ID, DynamicRegistryManager.EMPTY);
+		var serverNetworking = new ScreenNetworkingImpl(serverConnection, NetworkSide.SERVER);
+		var clientNetworking = new ScreenNetworkingImpl(clientConnection, NetworkSide.CLIENT);
+		serverConnection.connect(clientNetworking);
+		clientConnection.connect(serverNetworking);
+		var server = new DataSlotSync(serverNetworking, NetworkSide.SERVER);
+		var client = new DataSlotSync(clientNetworking, NetworkSide.CLIENT);
+		long[] received = new long[1];
+		List<Consumer<D>> serverSlots = new ArrayList<>(slotCount);
+
+		for (int i = 0; i < slotCount; i++) {
+			serverSlots.add(slotFactory.create(server, i, () -> {}));
+			slotFactory.create(client, i, () -> received[0]++);
+		}
+
+		clientNetworking.sendClientReady();
+
+		// Precompute the values so that creating them isn't measured
+		List<List<D>> values = IntStream.range(0, VALUE_TICKS)
+			.mapToObj(tick -> IntStream.range(0, slotCount).mapToObj(i -> valueFactory.create(tick, i)).toList())
+			.toList();
+		// Counted across rounds, so that consecutive ticks always have different values
+		int tick = 0;
+
+		for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+			serverConnection.resetCounters();
+			received[0] = 0;
+			long allocatedBefore = getAllocatedBytes();
+			long start = System.nanoTime();
+
+			for (int i = 0; i < ticks; i++, tick++) {
+				TickCounter.tick(NetworkSide.SERVER);
+				serverNetworking.startTick(TickCounter.get(NetworkSide.SERVER));
+				List<D> tickValues = values.get(tick % VALUE_TICKS);
+
+				for (int slot = 0; slot < slotCount; slot++) {
+					serverSlots.get(slot).accept(tickValues.get(slot));
+				}
+
+				server.sendUpdates();
+			}
+
+			long time = System.nanoTime() - start;
+			long allocated = getAllocatedBytes() - allocatedBefore;
+			long updates = (long) ticks * slotCount;
+
+			if (received[0] != updates) {
+				throw new IllegalStateException("Expected " + updates + " received updates, found " + received[0]);
+			}
+
+			if (round >= WARMUP_ROUNDS) {
+				System.out.printf(
+					Locale.ROOT,
+					"%-24s %12.0f updates/s %8.2f bytes/update %10.1f allocated bytes/update %6d packets%n",
+					name,
+					updates / (time / 1e9),
+					serverConnection.getBytes() / (double) updates,
+					allocated / (double) updates,
+					serverConnection.getPackets()
+				);
+			}
+		}
+	}
+
+	private static long getAllocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof ThreadMXBean threadBean) {
+			return threadBean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+		}
+
+		return 0;
+	}
+
+	@FunctionalInterface
+	private interface SlotFactory<D> {
+		/**
+		 * Adds a data slot.
+		 *
+		 * @param sync       the data slot sync of a side
+		 * @param index      the index of the data slot
+		 * @param onReceived called when the data slot changes
+		 * @return a setter for the value of the data slot
+		 */
+		Consumer<D> create(DataSlotSync sync, int index, Runnable onReceived);
+	}
+
+	@FunctionalInterface
+	private interface ValueFactory<D> {
+		D create(int tick, int index);
+	}
+}
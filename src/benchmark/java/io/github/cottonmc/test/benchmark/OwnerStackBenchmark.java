@@ -0,0 +1,87 @@
+package io.github.cottonmc.test.benchmark;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.ContainerComponent;
+import net.minecraft.component.type.LoreComponent;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.text.Text;
+
+import io.github.cottonmc.cotton.gui.impl.StackFingerprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JMH benchmark for the owner stack check of {@link io.github.cottonmc.cotton.gui.ItemSyncedGuiDescription#canUse}.
+ *
+ * <p>The owner is a backpack-like item with a container component holding named stacks with lore.
+ * The current stack is built separately from the original owner, so the stacks are equal
+ * but don't share any component instances. {@link #deepCompare} compares the stacks fully
+ * like the previous implementation did every tick, and {@link #fingerprint} uses a {@link StackFingerprint}.
+ *
+ * <p>Run with {@code ./gradlew jmh --args OwnerStackBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OwnerStackBenchmark {
+	@Param({"27", "54", "256"})
+	public int containerStacks;
+
+	private ItemStack ownerStack;
+	private ItemStack currentStack;
+	private StackFingerprint fingerprint;
+
+	@Setup
+	public void setup() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+
+		ownerStack = createBackpack(containerStacks);
+		currentStack = createBackpack(containerStacks);
+		fingerprint = new StackFingerprint(ownerStack);
+	}
+
+	private static ItemStack createBackpack(int size) {
+		List<ItemStack> contents = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+			ItemStack stack = new ItemStack(Items.DIAMOND_SWORD);
+			stack.set(DataComponentTypes.CUSTOM_NAME, Text.literal("Sword #" + i));
+			stack.set(DataComponentTypes.LORE, new LoreComponent(List.of(Text.literal("First line"), Text.literal("Second line " + i))));
+			contents.add(stack);
+		}
+
+		ItemStack backpack = new ItemStack(Items.SHULKER_BOX);
+		backpack.set(DataComponentTypes.CONTAINER, ContainerComponent.fromStacks(contents));
+		return backpack;
+	}
+
+	@Benchmark
+	public boolean deepCompare() {
+		return ItemStack.areEqual(ownerStack, currentStack);
+	}
+
+	@Benchmark
+	public boolean fingerprint() {
+		return fingerprint.matches(currentStack);
+	}
+}
@@ -0,0 +1,104 @@
+package io.github.cottonmc.test.benchmark;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.screen.slot.Slot;
+
+import io.github.cottonmc.cotton.gui.ValidatedSlot;
+import io.github.cottonmc.cotton.gui.impl.QuickMoveHelper;
+import io.github.cottonmc.cotton.gui.impl.SlotIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JMH benchmark for shift-click transfers in large GUIs.
+ *
+ * <p>Each invocation moves a stack from the block inventory to the player inventory and back.
+ * The block inventory is otherwise full of a different item, so both transfers
+ * scan all slots of the target inventory. {@link #cachedIndex} uses a slot index built once
+ * like {@link io.github.cottonmc.cotton.gui.SyncedGuiDescription} does, and {@link #rebuiltIndex}
+ * rebuilds it for every transfer, which matches the cost of the previous per-click slot scans.
+ *
+ * <p>Run with {@code ./gradlew jmh --args QuickMoveBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuickMoveBenchmark {
+	private static final int PLAYER_SLOTS = 36;
+
+	@Param({"27", "108", "270"})
+	public int blockSlots;
+
+	private SimpleInventory playerInventory;
+	private SimpleInventory blockInventory;
+	private List<Slot> slots;
+	private SlotIndex index;
+	private Slot source;
+
+	@Setup
+	public void setup() {
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+
+		playerInventory = new SimpleInventory(PLAYER_SLOTS);
+		blockInventory = new SimpleInventory(blockSlots);
+		slots = new ArrayList<>();
+
+		for (int i = 0; i < blockSlots; i++) {
+			if (i > 0) blockInventory.setStack(i, new ItemStack(Items.DIRT, 64));
+			addSlot(new ValidatedSlot(blockInventory, i, 0, 0));
+		}
+
+		for (int i = 0; i < PLAYER_SLOTS; i++) {
+			addSlot(new ValidatedSlot(playerInventory, i, 0, 0));
+		}
+
+		blockInventory.setStack(0, new ItemStack(Items.STONE, 64));
+		source = slots.getFirst();
+		index = SlotIndex.build(slots);
+	}
+
+	private void addSlot(Slot slot) {
+		slot.id = slots.size();
+		slots.add(slot);
+	}
+
+	@Benchmark
+	public void cachedIndex(Blackhole bh) {
+		transfer(index, bh);
+	}
+
+	@Benchmark
+	public void rebuiltIndex(Blackhole bh) {
+		transfer(SlotIndex.build(slots), bh);
+	}
+
+	private void transfer(SlotIndex index, Blackhole bh) {
+		bh.consume(QuickMoveHelper.quickMove(index, source, playerInventory, blockInventory));
+
+		// The stack goes to the last player slot since the transfer walks backwards
+		Slot target = slots.getLast();
+		bh.consume(QuickMoveHelper.quickMove(index, target, playerInventory, blockInventory));
+	}
+}
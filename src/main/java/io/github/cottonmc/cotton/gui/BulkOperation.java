@@ -0,0 +1,128 @@
+package io.github.cottonmc.cotton.gui;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A bulk operation on the inventories of a {@link SyncedGuiDescription}.
+ *
+ * <p>Bulk operations replace sequences of individual slot clicks, such as sorting a chest or
+ * moving all items of a type to another inventory. A client requests an operation with
+ * {@link SyncedGuiDescription#requestBulkOperation(BulkOperation)}, which sends it to the server
+ * in a single message. The server performs the operation in one pass over the slots and
+ * syncs the results to the client in one packet.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // Sort the block inventory
+ * description.requestBulkOperation(new BulkOperation.Sort(BulkOperation.Target.BLOCK, BulkOperation.SortOrder.ITEM));
+ *
+ * // Move all iron ingots from the player inventory to the block inventory
+ * description.requestBulkOperation(new BulkOperation.MoveMatching(
+ *     BulkOperation.Target.PLAYER,
+ *     BulkOperation.Target.BLOCK,
+ *     List.of(Items.IRON_INGOT)
+ * ));
+ * }
+ *
+ * @since 15.0.0
+ */
+public sealed interface BulkOperation {
+	/**
+	 * Sorts the stacks in an inventory. Partial stacks of the same item are merged before sorting.
+	 *
+	 * @param target the sorted inventory
+	 * @param order  the sort order
+	 */
+	record Sort(Target target, SortOrder order) implements BulkOperation {
+		public Sort {
+			Objects.requireNonNull(target, "target");
+			Objects.requireNonNull(order, "order");
+		}
+	}
+
+	/**
+	 * Merges partial stacks of the same item in an inventory without otherwise reordering the stacks.
+	 *
+	 * @param target the compacted inventory
+	 */
+	record Compact(Target target) implements BulkOperation {
+		public Compact {
+			Objects.requireNonNull(target, "target");
+		}
+	}
+
+	/**
+	 * Moves all stacks of the specified items from one inventory to another.
+	 *
+	 * @param from  the source inventory
+	 * @param to    the target inventory
+	 * @param items the moved items, or an empty list to move all items
+	 */
+	record MoveMatching(Target from, Target to, List<Item> items) implements BulkOperation {
+		public MoveMatching {
+			Objects.requireNonNull(from, "from");
+			Objects.requireNonNull(to, "to");
+			items = List.copyOf(items);
+		}
+
+		/**
+		 * Tests whether a stack is moved by this operation.
+		 *
+		 * @param stack the tested stack
+		 * @return {@code true} if the stack matches, {@code false} otherwise
+		 */
+		public boolean matches(ItemStack stack) {
+			return items.isEmpty() || items.contains(stack.getItem());
+		}
+	}
+
+	/**
+	 * An inventory targeted by a bulk operation.
+	 */
+	enum Target {
+		/**
+		 * The {@linkplain SyncedGuiDescription#playerInventory player inventory}.
+		 */
+		PLAYER,
+		/**
+		 * The {@linkplain SyncedGuiDescription#blockInventory block inventory}.
+		 * Operations on a missing block inventory don't do anything.
+		 */
+		BLOCK
+	}
+
+	/**
+	 * The order of a {@link Sort} operation.
+	 */
+	enum SortOrder {
+		/**
+		 * Sorts by item registry order, and then by descending count.
+		 */
+		ITEM(Comparator.<ItemStack>comparingInt(stack -> Registries.ITEM.getRawId(stack.getItem()))
+				.thenComparing(Comparator.comparingInt(ItemStack::getCount).reversed())),
+		/**
+		 * Sorts by descending count, and then by item registry order.
+		 */
+		COUNT(Comparator.comparingInt(ItemStack::getCount).reversed()
+				.thenComparingInt(stack -> Registries.ITEM.getRawId(stack.getItem())));
+
+		private final Comparator<ItemStack> comparator;
+
+		SortOrder(Comparator<ItemStack> comparator) {
+			this.comparator = comparator;
+		}
+
+		/**
+		 * {@return the stack comparator of this sort order}
+		 */
+		public Comparator<ItemStack> getComparator() {
+			return comparator;
+		}
+	}
+}
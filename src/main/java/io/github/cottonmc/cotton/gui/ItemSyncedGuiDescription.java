@@ -6,6 +6,8 @@ import net.minecraft.inventory.StackReference;
 import net.minecraft.item.ItemStack;
 import net.minecraft.screen.ScreenHandlerType;
 
+import io.github.cottonmc.cotton.gui.impl.StackFingerprint;
+
 import java.util.Objects;
 
 /**
@@ -31,6 +33,8 @@ public class ItemSyncedGuiDescription extends SyncedGuiDescription {
 	 */
 	protected final ItemStack ownerStack;
 
+	private final StackFingerprint ownerFingerprint;
+
 	/**
 	 * Constructs an {@code ItemSyncedGuiDescription}.
 	 *
@@ -43,6 +47,7 @@ public class ItemSyncedGuiDescription extends SyncedGuiDescription {
 		super(type, syncId, playerInventory);
 		this.owner = Objects.requireNonNull(owner, "Owner cannot be null");
 		this.ownerStack = owner.get().copy();
+		this.ownerFingerprint = new StackFingerprint(ownerStack);
 	}
 
 	/**
@@ -51,6 +56,9 @@ public class ItemSyncedGuiDescription extends SyncedGuiDescription {
 	 * <p>The default implementation for {@code ItemSyncedGuiDescription} returns {@code true} if and only if
 	 * the {@linkplain #owner current owning item stack} is {@linkplain ItemStack#areEqual fully equal}
 	 * to the {@linkplain #ownerStack original owner}.
+	 * The components are only compared deeply when the owning stack's item, count or component instances
+	 * have changed since the last check, so this method is cheap to call every tick
+	 * even for items with large components.
 	 *
 	 * <p>If the item NBT is intended to change, subclasses should override this method to only check
 	 * the item and the count. Those subclasses should also take care to respond properly
@@ -58,6 +66,6 @@ public class ItemSyncedGuiDescription extends SyncedGuiDescription {
 	 */
 	@Override
 	public boolean canUse(PlayerEntity entity) {
-		return ItemStack.areEqual(ownerStack, owner.get());
+		return ownerFingerprint.matches(owner.get());
 	}
 }
@@ -0,0 +1,152 @@
+package io.github.cottonmc.cotton.gui;
+
+import net.minecraft.component.ComponentChanges;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * An item filter that remembers the results of another filter.
+ *
+ * <p>Slot filters are tested many times per click, for example when shift-clicking stacks
+ * checks each target slot. Memoizing filters only test the wrapped filter once per item,
+ * or once per item and components, which is useful for filters that check tags or look up recipes.
+ * The wrapped filter must only depend on the item (and the components if they're part of the key),
+ * and not on the stack count or other state.
+ *
+ * <p>The remembered results are bounded in size, with the least recently used results discarded first.
+ * All memoized filters are {@linkplain #invalidateAll() invalidated} automatically when tags or
+ * data packs are reloaded.
+ *
+ * <p>Memoizing filters can be used as both input and output filters. A slot widget shares its filters
+ * with all of its slot peers, so they also share the remembered results.
+ *
+ * <p>Memoizing filters are thread-safe. Filters stored in static fields are shared by
+ * the client and the integrated server, which test them on different threads.
+ * The wrapped filter is not called while holding the lock, so it may be called more than once
+ * for the same key when multiple threads test the key at the same time.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // Only fuel items can be placed in this slot
+ * slot.setInputFilter(MemoizedItemFilter.byItem(stack -> stack.isIn(ItemTags.COALS) || isFuel(stack)));
+ * }
+ *
+ * @since 15.0.0
+ */
+public final class MemoizedItemFilter implements Predicate<ItemStack> {
+	/**
+	 * The default maximum number of remembered results.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	private static final AtomicInteger GENERATION = new AtomicInteger();
+
+	private final Predicate<ItemStack> filter;
+	private final boolean includeComponents;
+	// The results map is also the lock for itself and the generation
+	private final Map<Object, Boolean> results;
+	private int generation = GENERATION.get();
+
+	private MemoizedItemFilter(Predicate<ItemStack> filter, boolean includeComponents, int maxSize) {
+		this.filter = filter;
+		this.includeComponents = includeComponents;
+		this.results = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Boolean> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Creates a memoizing filter that remembers results by item.
+	 *
+	 * @param filter the wrapped filter
+	 * @return the memoizing filter
+	 */
+	public static MemoizedItemFilter byItem(Predicate<ItemStack> filter) {
+		return of(filter, false, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a memoizing filter that remembers results by item and components.
+	 *
+	 * @param filter the wrapped filter
+	 * @return the memoizing filter
+	 */
+	public static MemoizedItemFilter byItemAndComponents(Predicate<ItemStack> filter) {
+		return of(filter, true, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Creates a memoizing filter.
+	 *
+	 * @param filter            the wrapped filter
+	 * @param includeComponents if true, results are remembered by item and components; otherwise only by item
+	 * @param maxSize           the maximum number of remembered results, must be positive
+	 * @return the memoizing filter
+	 * @throws IllegalArgumentException if the maximum size is not positive
+	 */
+	public static MemoizedItemFilter of(Predicate<ItemStack> filter, boolean includeComponents, int maxSize) {
+		Objects.requireNonNull(filter, "filter");
+		if (maxSize <= 0) throw new IllegalArgumentException("Maximum size must be positive, got " + maxSize);
+		return new MemoizedItemFilter(filter, includeComponents, maxSize);
+	}
+
+	/**
+	 * Invalidates the remembered results of all memoizing filters.
+	 *
+	 * <p>This is called automatically when tags or data packs are reloaded.
+	 */
+	public static void invalidateAll() {
+		GENERATION.incrementAndGet();
+	}
+
+	/**
+	 * Invalidates the remembered results of this filter.
+	 */
+	public void invalidate() {
+		synchronized (results) {
+			results.clear();
+			// Also makes results that are being computed get discarded
+			generation = -1;
+		}
+	}
+
+	@Override
+	public boolean test(ItemStack stack) {
+		// The component changes are safe to use as a key since stacks copy them before modifying
+		Object key = includeComponents ? new ComponentKey(stack.getItem(), stack.getComponentChanges()) : stack.getItem();
+		int currentGeneration = GENERATION.get();
+		Boolean result;
+
+		synchronized (results) {
+			if (generation != currentGeneration) {
+				results.clear();
+				generation = currentGeneration;
+			}
+
+			result = results.get(key);
+		}
+
+		if (result == null) {
+			result = filter.test(stack);
+
+			synchronized (results) {
+				// Results computed before an invalidation are discarded
+				if (generation == currentGeneration) results.put(key, result);
+			}
+		}
+
+		return result;
+	}
+
+	private record ComponentKey(Item item, ComponentChanges components) {
+	}
+}
@@ -0,0 +1,65 @@
+package io.github.cottonmc.cotton.gui;
+
+import net.minecraft.inventory.Inventory;
+
+/**
+ * An inventory that notifies listeners about changed slots.
+ *
+ * <p>Observable inventories let {@linkplain SyncedGuiDescription#enableDirtySlotTracking(int) dirty-tracked slot sync}
+ * skip comparing unchanged slots. Implementations should notify the listeners whenever a stack is set or removed,
+ * and notify them with {@link #ALL_SLOTS} in {@link #markDirty()}, since stacks can be modified in place
+ * before marking the inventory dirty.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * private final List<SlotChangeListener> listeners = new ArrayList<>();
+ *
+ * @Override
+ * public void setStack(int slot, ItemStack stack) {
+ *     items.set(slot, stack);
+ *     listeners.forEach(listener -> listener.onSlotChanged(this, slot));
+ * }
+ *
+ * @Override
+ * public void markDirty() {
+ *     super.markDirty();
+ *     listeners.forEach(listener -> listener.onSlotChanged(this, ALL_SLOTS));
+ * }
+ * }
+ *
+ * @since 15.0.0
+ */
+public interface ObservableInventory extends Inventory {
+	/**
+	 * The slot index used for changes that can affect any slot.
+	 */
+	int ALL_SLOTS = -1;
+
+	/**
+	 * Adds a slot change listener to this inventory.
+	 *
+	 * @param listener the added listener
+	 */
+	void addSlotChangeListener(SlotChangeListener listener);
+
+	/**
+	 * Removes a slot change listener from this inventory.
+	 *
+	 * @param listener the removed listener
+	 */
+	void removeSlotChangeListener(SlotChangeListener listener);
+
+	/**
+	 * A listener for changed slots in an {@link ObservableInventory}.
+	 */
+	@FunctionalInterface
+	interface SlotChangeListener {
+		/**
+		 * Handles a changed slot.
+		 *
+		 * @param inventory the changed inventory
+		 * @param index     the index of the changed slot, or {@link #ALL_SLOTS} if any slot could have changed
+		 */
+		void onSlotChanged(Inventory inventory, int index);
+	}
+}
@@ -0,0 +1,61 @@
+package io.github.cottonmc.cotton.gui;
+
+import net.minecraft.item.ItemStack;
+
+import java.util.function.Consumer;
+
+/**
+ * A server-side view of an item storage that is displayed in a
+ * {@linkplain io.github.cottonmc.cotton.gui.widget.WStorageTerminal storage terminal}.
+ *
+ * <p>Storages are collections of item types and amounts. Each item type is represented
+ * by a <em>key stack</em>, an item stack with the item and components of the type.
+ * Key stacks must not be modified by the provider or its users, and their counts are ignored.
+ *
+ * <p>Providers are only used on the server. The terminal {@linkplain #forEachEntry(Consumer) reads all entries}
+ * when its query changes and when the {@linkplain #getVersion() version} changes, and only sends the entries
+ * visible on the client.
+ *
+ * @since 15.0.0
+ */
+public interface StorageTerminalProvider {
+	/**
+	 * Passes each entry with a positive amount in this storage to a consumer.
+	 *
+	 * @param consumer the entry consumer
+	 */
+	void forEachEntry(Consumer<Entry> consumer);
+
+	/**
+	 * {@return the version of this storage's contents}
+	 * The version must change whenever the entries change.
+	 */
+	long getVersion();
+
+	/**
+	 * Extracts items from this storage.
+	 *
+	 * @param key    the key stack of the extracted item type
+	 * @param amount the maximum extracted amount
+	 * @return the extracted amount
+	 */
+	long extract(ItemStack key, long amount);
+
+	/**
+	 * Inserts items into this storage.
+	 *
+	 * @param key    the key stack of the inserted item type
+	 * @param amount the maximum inserted amount
+	 * @return the inserted amount
+	 */
+	long insert(ItemStack key, long amount);
+
+	/**
+	 * An entry in a storage.
+	 *
+	 * @param key    the key stack of the item type
+	 * @param amount the amount of items, must be positive
+	 */
+	record Entry(ItemStack key, long amount) {
+	}
+}
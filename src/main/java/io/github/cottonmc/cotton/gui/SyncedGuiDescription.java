@@ -14,26 +14,53 @@ import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.Inventory;
 import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.screen.ArrayPropertyDelegate;
+import net.minecraft.screen.Property;
 import net.minecraft.screen.PropertyDelegate;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.screen.ScreenHandlerContext;
 import net.minecraft.screen.ScreenHandlerType;
-import net.minecraft.screen.slot.Slot;
+import net.minecraft.screen.slot.SlotActionType;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
 import net.minecraft.world.World;
 
+import com.google.common.base.Suppliers;
 import io.github.cottonmc.cotton.gui.client.BackgroundPainter;
 import io.github.cottonmc.cotton.gui.client.LibGui;
+import io.github.cottonmc.cotton.gui.impl.BooleanDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.BulkInventoryOperations;
 import io.github.cottonmc.cotton.gui.impl.DataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.DataSlotSync;
+import io.github.cottonmc.cotton.gui.impl.DirtySlotTracker;
+import io.github.cottonmc.cotton.gui.impl.HiddenSlotSync;
+import io.github.cottonmc.cotton.gui.impl.IntDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.ListDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.LongDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.MapDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.QuickMoveHelper;
 import io.github.cottonmc.cotton.gui.impl.ScreenNetworkingImpl;
+import io.github.cottonmc.cotton.gui.impl.SharedDataSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.SharedDataSlotSourceImpl;
+import io.github.cottonmc.cotton.gui.impl.SlotIndex;
+import io.github.cottonmc.cotton.gui.impl.TickCounter;
+import io.github.cottonmc.cotton.gui.impl.WidePropertyDelegateSlotImpl;
+import io.github.cottonmc.cotton.gui.impl.WindowedInventory;
 import io.github.cottonmc.cotton.gui.impl.mixin.ScreenHandlerAccessor;
+import io.github.cottonmc.cotton.gui.networking.BooleanDataSlot;
 import io.github.cottonmc.cotton.gui.networking.DataSlot;
+import io.github.cottonmc.cotton.gui.networking.IntDataSlot;
+import io.github.cottonmc.cotton.gui.networking.ListDataSlot;
+import io.github.cottonmc.cotton.gui.networking.LongDataSlot;
+import io.github.cottonmc.cotton.gui.networking.MapDataSlot;
 import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
 import io.github.cottonmc.cotton.gui.networking.NetworkSide;
 import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
 import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.networking.SharedDataSlotSource;
 import io.github.cottonmc.cotton.gui.widget.WGridPanel;
 import io.github.cottonmc.cotton.gui.widget.WLabel;
 import io.github.cottonmc.cotton.gui.widget.WPanel;
@@ -45,14 +72,26 @@ import io.github.cottonmc.cotton.gui.widget.data.Vec2i;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
  * A screen handler-based GUI description for GUIs with slots.
  */
 public class SyncedGuiDescription extends ScreenHandler implements GuiDescription {
+	/**
+	 * The default interval between full slot comparisons in ticks when
+	 * {@linkplain #enableDirtySlotTracking() dirty slot tracking} is enabled.
+	 *
+	 * @since 15.0.0
+	 */
+	public static final int DEFAULT_FULL_SLOT_SYNC_INTERVAL = 20;
 	
 	protected Inventory blockInventory;
 	protected PlayerInventory playerInventory;
@@ -71,8 +110,14 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	private boolean useDefaultRootBackground = true;
 
 	private final ScreenNetworkingImpl networking;
-	private final ScreenNetworkingImpl.DummyNetworking inactiveNetworking;
-	private final List<DataSlotImpl<?>> dataSlots = new ArrayList<>();
+	private final DataSlotSync dataSlotSync;
+	private @Nullable SlotIndex slotIndex;
+	private final List<Runnable> endOfTickTasks = new ArrayList<>();
+	private @Nullable DirtySlotTracker dirtySlotTracker = null;
+	private final IntConsumer trackedSlotUpdater = this::updateTrackedSlot;
+	private @Nullable HiddenSlotSync hiddenSlotSync = null;
+	// The index of the next expected slot during root panel revalidation, or -1 if not revalidating
+	private int revalidatedSlotCount = -1;
 
 	/**
 	 * Constructs a new synced GUI description without a block inventory or a property delegate.
@@ -88,7 +133,8 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 		this.world = playerInventory.player.getEntityWorld();
 		this.propertyDelegate = null;//new ArrayPropertyDelegate(1);
 		this.networking = new ScreenNetworkingImpl(this, getNetworkSide());
-		this.inactiveNetworking = new ScreenNetworkingImpl.DummyNetworking();
+		this.dataSlotSync = new DataSlotSync(networking, getNetworkSide());
+		registerBuiltinReceivers();
 	}
 
 	/**
@@ -107,7 +153,8 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 		this.world = playerInventory.player.getEntityWorld();
 		this.propertyDelegate = propertyDelegate;
 		this.networking = new ScreenNetworkingImpl(this, getNetworkSide());
-		this.inactiveNetworking = new ScreenNetworkingImpl.DummyNetworking();
+		this.dataSlotSync = new DataSlotSync(networking, getNetworkSide());
+		registerBuiltinReceivers();
 		if (propertyDelegate!=null && propertyDelegate.size()>0) this.addProperties(propertyDelegate);
 		if (blockInventory != null) blockInventory.onOpen(playerInventory.player);
 	}
@@ -157,179 +204,230 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	}
 
 	public void addSlotPeer(ValidatedSlot slot) {
+		if (revalidatedSlotCount >= 0) {
+			// Keep reused peers that are still in the same position
+			if (revalidatedSlotCount < slots.size() && slots.get(revalidatedSlotCount) == slot) {
+				revalidatedSlotCount++;
+				return;
+			}
+
+			truncateSlots(revalidatedSlotCount);
+			revalidatedSlotCount++;
+		}
+
 		this.addSlot(slot);
 	}
 
-	@Override
-	public ItemStack quickMove(PlayerEntity player, int index) {
-		ItemStack result = ItemStack.EMPTY;
-		Slot slot = slots.get(index);
-
-		if (slot.hasStack()) {
-			ItemStack slotStack = slot.getStack();
-			result = slotStack.copy();
-
-			if (blockInventory!=null) {
-				if (slot.inventory==blockInventory) {
-					//Try to transfer the item from the block into the player's inventory
-					if (!this.insertItem(slotStack, this.playerInventory, true, player)) {
-						return ItemStack.EMPTY;
-					}
-				} else if (!this.insertItem(slotStack, this.blockInventory, false, player)) { //Try to transfer the item from the player to the block
-					return ItemStack.EMPTY;
-				}
-			} else {
-				//There's no block, just swap between the player's storage and their hotbar
-				if (!swapHotbar(slotStack, index, this.playerInventory, player)) {
-					return ItemStack.EMPTY;
-				}
-			}
+	/**
+	 * Validates the root panel again, for example after the screen has been resized.
+	 *
+	 * <p>Slot peers that are {@linkplain io.github.cottonmc.cotton.gui.widget.WItemSlot#validate(GuiDescription) reused}
+	 * by their widgets keep their slot IDs. Other slots after the first changed peer are replaced.
+	 * This must be called instead of {@link WPanel#validate(GuiDescription)} when
+	 * the slot peers have already been added.
+	 *
+	 * @since 15.0.0
+	 */
+	public void revalidateRootPanel() {
+		WPanel root = getRootPanel();
+		if (root == null) return;
 
-			if (slotStack.isEmpty()) {
-				slot.setStack(ItemStack.EMPTY);
-			} else {
-				slot.markDirty();
-			}
-		}
+		revalidatedSlotCount = 0;
 
-		return result;
-	}
-
-	/** WILL MODIFY toInsert! Returns true if anything was inserted. */
-	private boolean insertIntoExisting(ItemStack toInsert, Slot slot, PlayerEntity player) {
-		ItemStack curSlotStack = slot.getStack();
-		if (!curSlotStack.isEmpty() && ItemStack.areItemsAndComponentsEqual(toInsert, curSlotStack) && slot.canInsert(toInsert)) {
-			int combinedAmount = curSlotStack.getCount() + toInsert.getCount();
-			int maxAmount = Math.min(toInsert.getMaxCount(), slot.getMaxItemCount(toInsert));
-			if (combinedAmount <= maxAmount) {
-				toInsert.setCount(0);
-				curSlotStack.setCount(combinedAmount);
-				slot.markDirty();
-				return true;
-			} else if (curSlotStack.getCount() < maxAmount) {
-				toInsert.decrement(maxAmount - curSlotStack.getCount());
-				curSlotStack.setCount(maxAmount);
-				slot.markDirty();
-				return true;
-			}
+		try {
+			root.validate(this);
+			truncateSlots(revalidatedSlotCount);
+		} finally {
+			revalidatedSlotCount = -1;
 		}
-		return false;
 	}
-	
-	/** WILL MODIFY toInsert! Returns true if anything was inserted. */
-	private boolean insertIntoEmpty(ItemStack toInsert, Slot slot) {
-		ItemStack curSlotStack = slot.getStack();
-		if (curSlotStack.isEmpty() && slot.canInsert(toInsert)) {
-			if (toInsert.getCount() > slot.getMaxItemCount(toInsert)) {
-				slot.setStack(toInsert.split(slot.getMaxItemCount(toInsert)));
-			} else {
-				slot.setStack(toInsert.split(toInsert.getCount()));
-			}
 
-			slot.markDirty();
-			return true;
+	private void truncateSlots(int size) {
+		if (slots.size() <= size) return;
+
+		// The tracked stacks are parallel to the slot list
+		ScreenHandlerAccessor accessor = (ScreenHandlerAccessor) this;
+		truncate(slots, size);
+		truncate(accessor.libgui$getTrackedStacks(), size);
+		truncate(accessor.libgui$getTrackedSlots(), size);
+
+		// The slot caches only detect appended slots, so they have to be rebuilt
+		slotIndex = null;
+		if (dirtySlotTracker != null) dirtySlotTracker.invalidate();
+		// The hidden slot IDs refer to the old slots: the client reports them again,
+		// and the server syncs all slots until it receives the new report
+		if (hiddenSlotSync != null) hiddenSlotSync.reset();
+	}
+
+	private static void truncate(List<?> list, int size) {
+		if (list.size() > size) {
+			list.subList(size, list.size()).clear();
 		}
-		
-		return false;
 	}
-	
-	private boolean insertItem(ItemStack toInsert, Inventory inventory, boolean walkBackwards, PlayerEntity player) {
-		//Make a unified list of slots *only from this inventory*
-		ArrayList<Slot> inventorySlots = new ArrayList<>();
-		for(Slot slot : slots) {
-			if (slot.inventory==inventory) inventorySlots.add(slot);
+
+	@Override
+	public ItemStack quickMove(PlayerEntity player, int index) {
+		return QuickMoveHelper.quickMove(getSlotIndex(), slots.get(index), playerInventory, blockInventory);
+	}
+
+	/**
+	 * {@return the slot index used for shift-click transfers}
+	 * The index is rebuilt when the slots of this handler have changed.
+	 */
+	private SlotIndex getSlotIndex() {
+		if (slotIndex == null || !slotIndex.isValidFor(slots)) {
+			slotIndex = SlotIndex.build(slots);
 		}
-		if (inventorySlots.isEmpty()) return false;
-		
-		//Try to insert it on top of existing stacks
-		boolean inserted = false;
-		if (walkBackwards) {
-			for(int i=inventorySlots.size()-1; i>=0; i--) {
-				Slot curSlot = inventorySlots.get(i);
-				if (insertIntoExisting(toInsert, curSlot, player)) inserted = true;
-				if (toInsert.isEmpty()) break;
-			}
+
+		return slotIndex;
+	}
+
+	/**
+	 * Requests a bulk operation on the inventories of this GUI.
+	 *
+	 * <p>On the client, the operation is sent to the server in a single message.
+	 * On the server, the operation is {@linkplain #performBulkOperation(BulkOperation) performed} immediately.
+	 *
+	 * @param operation the operation, cannot be null
+	 * @since 15.0.0
+	 */
+	public void requestBulkOperation(BulkOperation operation) {
+		Objects.requireNonNull(operation, "operation");
+
+		if (getNetworkSide() == NetworkSide.CLIENT) {
+			networking.send(BulkInventoryOperations.MESSAGE_KEY, operation);
 		} else {
-			for(int i=0; i<inventorySlots.size(); i++) {
-				Slot curSlot = inventorySlots.get(i);
-				if (insertIntoExisting(toInsert, curSlot, player)) inserted = true;
-				if (toInsert.isEmpty()) break;
-			}
-			
-		}
-		
-		//If we still have any, shove them into empty slots
-		if (!toInsert.isEmpty()) {
-			if (walkBackwards) {
-				for(int i=inventorySlots.size()-1; i>=0; i--) {
-					Slot curSlot = inventorySlots.get(i);
-					if (insertIntoEmpty(toInsert, curSlot)) inserted = true;
-					if (toInsert.isEmpty()) break;
-				}
-			} else {
-				for(int i=0; i<inventorySlots.size(); i++) {
-					Slot curSlot = inventorySlots.get(i);
-					if (insertIntoEmpty(toInsert, curSlot)) inserted = true;
-					if (toInsert.isEmpty()) break;
-				}
-				
-			}
+			performBulkOperation(operation);
 		}
-		
-		return inserted;
 	}
-	
-	private boolean swapHotbar(ItemStack toInsert, int slotNumber, Inventory inventory, PlayerEntity player) {
-		//Feel out the slots to see what's storage versus hotbar
-		ArrayList<Slot> storageSlots = new ArrayList<>();
-		ArrayList<Slot> hotbarSlots = new ArrayList<>();
-		boolean swapToStorage = true;
-		boolean inserted = false;
-		
-		for(Slot slot : slots) {
-			if (slot.inventory == inventory && slot instanceof ValidatedSlot validated) {
-				int index = validated.getInventoryIndex();
-				if (PlayerInventory.isValidHotbarIndex(index)) {
-					hotbarSlots.add(slot);
-				} else {
-					storageSlots.add(slot);
-					if (slot.id==slotNumber) swapToStorage = false;
-				}
-			}
-		}
-		if (storageSlots.isEmpty() || hotbarSlots.isEmpty()) return false;
-		
-		if (swapToStorage) {
-			//swap from hotbar to storage
-			for(int i=0; i<storageSlots.size(); i++) {
-				Slot curSlot = storageSlots.get(i);
-				if (insertIntoExisting(toInsert, curSlot, player)) inserted = true;
-				if (toInsert.isEmpty()) break;
+
+	/**
+	 * Performs a bulk operation on the inventories of this GUI.
+	 *
+	 * <p>This method is called on the server when the client {@linkplain #requestBulkOperation(BulkOperation) requests}
+	 * a bulk operation. It can be overridden to restrict the operations available to players.
+	 *
+	 * @param operation the operation, cannot be null
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 * @since 15.0.0
+	 */
+	public boolean performBulkOperation(BulkOperation operation) {
+		Objects.requireNonNull(operation, "operation");
+
+		return switch (operation) {
+			case BulkOperation.Sort sort -> {
+				Inventory target = getBulkOperationTarget(sort.target());
+				yield target != null && sortInventory(target, sort.order().getComparator());
 			}
-			if (!toInsert.isEmpty()) {
-				for(int i=0; i<storageSlots.size(); i++) {
-					Slot curSlot = storageSlots.get(i);
-					if (insertIntoEmpty(toInsert, curSlot)) inserted = true;
-					if (toInsert.isEmpty()) break;
-				}
+			case BulkOperation.Compact compact -> {
+				Inventory target = getBulkOperationTarget(compact.target());
+				yield target != null && compactInventory(target);
 			}
-		} else {
-			//swap from storage to hotbar
-			for(int i=0; i<hotbarSlots.size(); i++) {
-				Slot curSlot = hotbarSlots.get(i);
-				if (insertIntoExisting(toInsert, curSlot, player)) inserted = true;
-				if (toInsert.isEmpty()) break;
+			case BulkOperation.MoveMatching move -> {
+				Inventory from = getBulkOperationTarget(move.from());
+				Inventory to = getBulkOperationTarget(move.to());
+				yield from != null && to != null && from != to && moveMatching(from, to, move::matches);
 			}
-			if (!toInsert.isEmpty()) {
-				for(int i=0; i<hotbarSlots.size(); i++) {
-					Slot curSlot = hotbarSlots.get(i);
-					if (insertIntoEmpty(toInsert, curSlot)) inserted = true;
-					if (toInsert.isEmpty()) break;
+		};
+	}
+
+	private @Nullable Inventory getBulkOperationTarget(BulkOperation.Target target) {
+		return switch (target) {
+			case PLAYER -> playerInventory;
+			case BLOCK -> blockInventory;
+		};
+	}
+
+	/**
+	 * Sorts the stacks in the slots of an inventory. Partial stacks of the same item are merged before sorting.
+	 * Slots that the player can't take items from or insert items into are skipped.
+	 *
+	 * <p>On the server, the changed slots are synced to the client in one packet.
+	 *
+	 * @param inventory  the sorted inventory, cannot be null
+	 * @param comparator the stack comparator, cannot be null
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 * @since 15.0.0
+	 */
+	public boolean sortInventory(Inventory inventory, Comparator<? super ItemStack> comparator) {
+		Objects.requireNonNull(inventory, "inventory");
+		Objects.requireNonNull(comparator, "comparator");
+		return syncBulkChanges(BulkInventoryOperations.sort(getSlotIndex().getSlots(inventory), playerInventory.player, comparator));
+	}
+
+	/**
+	 * Merges partial stacks of the same item in the slots of an inventory.
+	 * The order of the stacks is otherwise preserved.
+	 *
+	 * <p>On the server, the changed slots are synced to the client in one packet.
+	 *
+	 * @param inventory the compacted inventory, cannot be null
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 * @since 15.0.0
+	 */
+	public boolean compactInventory(Inventory inventory) {
+		Objects.requireNonNull(inventory, "inventory");
+		return syncBulkChanges(BulkInventoryOperations.compact(getSlotIndex().getSlots(inventory), playerInventory.player));
+	}
+
+	/**
+	 * Moves all stacks matching a predicate from the slots of one inventory to another.
+	 * The stacks are inserted like shift-clicked stacks.
+	 *
+	 * <p>On the server, the changed slots are synced to the client in one packet.
+	 *
+	 * @param from      the source inventory, cannot be null
+	 * @param to        the target inventory, cannot be null
+	 * @param predicate the predicate for moved stacks, cannot be null
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 * @since 15.0.0
+	 */
+	public boolean moveMatching(Inventory from, Inventory to, Predicate<? super ItemStack> predicate) {
+		Objects.requireNonNull(from, "from");
+		Objects.requireNonNull(to, "to");
+		Objects.requireNonNull(predicate, "predicate");
+		SlotIndex index = getSlotIndex();
+		return syncBulkChanges(BulkInventoryOperations.moveMatching(index.getSlots(from), index.getSlots(to), playerInventory.player, predicate));
+	}
+
+	private void registerBuiltinReceivers() {
+		if (getNetworkSide() == NetworkSide.SERVER) {
+			networking.receive(BulkInventoryOperations.MESSAGE_KEY, operation -> {
+				if (canUse(playerInventory.player)) performBulkOperation(operation);
+			});
+			networking.receive(WindowedInventory.SCROLL_MESSAGE_KEY, message -> {
+				if (!canUse(playerInventory.player)) return;
+				int slotId = message.slotId();
+
+				if (slotId >= 0 && slotId < slots.size() && slots.get(slotId).inventory instanceof WindowedInventory window
+						&& window.setOffset(message.offset())) {
+					resendWindow(slotId, window);
 				}
-			}
+			});
+			networking.receive(HiddenSlotSync.MESSAGE_KEY, hiddenSlots -> {
+				// Newly shown slots are compared right away to send a catch-up diff
+				if (hiddenSlotSync != null) hiddenSlotSync.update(hiddenSlots, slots.size(), trackedSlotUpdater);
+			});
+		}
+	}
+
+	private void resendWindow(int firstSlotId, WindowedInventory window) {
+		int end = Math.min(firstSlotId + window.size(), slots.size());
+
+		for (int slotId = firstSlotId; slotId < end && slots.get(slotId).inventory == window; slotId++) {
+			// The client has cleared its window, so its stacks are sent even if they didn't change
+			setReceivedStack(slotId, ItemStack.EMPTY);
+			updateTrackedSlot(slotId);
 		}
-		
-		return inserted;
+	}
+
+	private boolean syncBulkChanges(boolean changed) {
+		if (changed && getNetworkSide() == NetworkSide.SERVER) {
+			// A full sync sends all slots in one packet instead of one packet per changed slot.
+			syncState();
+		}
+
+		return changed;
 	}
 
 	@Nullable
@@ -344,6 +442,15 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 		return this;
 	}
 
+	/**
+	 * {@return the player inventory of the player viewing this screen}
+	 *
+	 * @since 15.0.0
+	 */
+	public PlayerInventory getPlayerInventory() {
+		return playerInventory;
+	}
+
 	/**
 	 * Creates a player inventory widget from this panel's {@linkplain #playerInventory player inventory}.
 	 *
@@ -499,15 +606,113 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 		public void onClosed(PlayerEntity player) {
 			super.onClosed(player);
 			if (blockInventory != null) blockInventory.onClose(player);
+			if (dirtySlotTracker != null) dirtySlotTracker.detach();
+			networking.close();
 		}
 
 		@Override
 		public void sendContentUpdates() {
-			super.sendContentUpdates();
+			if (dirtySlotTracker != null || (hiddenSlotSync != null && hiddenSlotSync.hasHiddenSlots())) {
+				sendFilteredContentUpdates();
+			} else {
+				super.sendContentUpdates();
+			}
+
 			sendDataSlotUpdates();
 		}
+
+		@Override
+		public void onSlotClick(int slotIndex, int button, SlotActionType actionType, PlayerEntity player) {
+			super.onSlotClick(slotIndex, button, actionType, player);
+			// Clicks can change any slot, for example by collecting items with a double click.
+			if (dirtySlotTracker != null) dirtySlotTracker.markAllDirty();
+		}
 	//}
 
+	/**
+	 * Enables dirty-tracked slot sync with the {@linkplain #DEFAULT_FULL_SLOT_SYNC_INTERVAL default full sync interval}.
+	 *
+	 * @see #enableDirtySlotTracking(int)
+	 * @since 15.0.0
+	 */
+	public void enableDirtySlotTracking() {
+		enableDirtySlotTracking(DEFAULT_FULL_SLOT_SYNC_INTERVAL);
+	}
+
+	/**
+	 * Enables dirty-tracked slot sync.
+	 *
+	 * <p>By default, every slot stack is compared against its last synced copy every tick.
+	 * With dirty tracking, the slots of {@link ObservableInventory observable inventories} and
+	 * {@link SimpleInventory simple inventories} are only compared after their inventory reports a change.
+	 * Slots of other inventories, such as the player inventory, are still compared every tick.
+	 *
+	 * <p>Changes that aren't reported, such as modifying a stack in place without marking
+	 * the inventory dirty, are synced by a full comparison of all slots every {@code fullSyncInterval} ticks.
+	 * All slots are also compared after slot clicks and when slots are added.
+	 *
+	 * <p>This only has an effect on the server.
+	 *
+	 * @param fullSyncInterval the interval between full comparisons of all slots in ticks, must be positive
+	 * @throws IllegalArgumentException if the interval is not positive
+	 * @since 15.0.0
+	 */
+	public void enableDirtySlotTracking(int fullSyncInterval) {
+		if (fullSyncInterval <= 0) throw new IllegalArgumentException("Full sync interval must be positive, got " + fullSyncInterval);
+		if (dirtySlotTracker != null) dirtySlotTracker.detach();
+		dirtySlotTracker = new DirtySlotTracker(slots, fullSyncInterval);
+	}
+
+	/**
+	 * Enables hidden slot sync suppression. This must be called on both sides.
+	 *
+	 * <p>By default, all slots are synced every tick, including slots that aren't visible.
+	 * With hidden slot sync suppression, the client reports which {@linkplain ValidatedSlot#isVisible() slots are hidden},
+	 * for example because they're on an unselected tab of a {@link io.github.cottonmc.cotton.gui.widget.WTabPanel},
+	 * and the server doesn't compare or sync the contents of those slots. When the slots are shown again,
+	 * the changes made while they were hidden are sent right away.
+	 *
+	 * <p>This can be combined with {@linkplain #enableDirtySlotTracking(int) dirty-tracked slot sync}.
+	 *
+	 * @since 15.0.0
+	 */
+	public void enableHiddenSlotSyncSuppression() {
+		if (hiddenSlotSync == null) hiddenSlotSync = new HiddenSlotSync();
+	}
+
+	private void sendFilteredContentUpdates() {
+		// Mirrors ScreenHandler.sendContentUpdates, but only for the slots that can have changed and aren't hidden
+		ScreenHandlerAccessor accessor = (ScreenHandlerAccessor) this;
+
+		if (dirtySlotTracker != null) {
+			dirtySlotTracker.forEachSlotToCheck(trackedSlotUpdater);
+		} else {
+			for (int i = 0; i < slots.size(); i++) {
+				updateTrackedSlot(i);
+			}
+		}
+
+		accessor.libgui$checkCursorStackUpdates();
+
+		List<Property> properties = accessor.libgui$getProperties();
+
+		for (int i = 0; i < properties.size(); i++) {
+			Property property = properties.get(i);
+			int value = property.get();
+			if (property.hasChanged()) accessor.libgui$notifyPropertyUpdate(i, value);
+			accessor.libgui$checkPropertyUpdates(i, value);
+		}
+	}
+
+	private void updateTrackedSlot(int slotId) {
+		if (hiddenSlotSync != null && hiddenSlotSync.isHidden(slotId)) return;
+		ScreenHandlerAccessor accessor = (ScreenHandlerAccessor) this;
+		ItemStack stack = slots.get(slotId).getStack();
+		Supplier<ItemStack> copy = Suppliers.memoize(stack::copy);
+		accessor.libgui$updateTrackedSlot(slotId, stack, copy);
+		accessor.libgui$checkSlotUpdates(slotId, stack, copy);
+	}
+
 	@Override
 	public boolean isFocused(WWidget widget) {
 		return focus == widget;
@@ -625,7 +830,7 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	 */
 	public final ScreenNetworking getNetworking(NetworkSide side) {
 		Objects.requireNonNull(side, "side");
-		return side == getNetworkSide() ? networking : inactiveNetworking;
+		return dataSlotSync.getNetworking(side);
 	}
 
 	/**
@@ -637,7 +842,7 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	 * <p>The initial value of a data slot will not be synced.
 	 *
 	 * <p>For S2C item stack and int data slots, you should usually use
-	 * {@linkplain Slot vanilla}/{@linkplain io.github.cottonmc.cotton.gui.widget.WItemSlot LibGui}
+	 * {@linkplain net.minecraft.screen.slot.Slot vanilla}/{@linkplain io.github.cottonmc.cotton.gui.widget.WItemSlot LibGui}
 	 * slots and {@linkplain PropertyDelegate property delegates}, respectively.
 	 *
 	 * @param key              the key of the sync message, cannot be null
@@ -650,10 +855,7 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	public <T> DataSlot<T> registerDataSlot(ScreenMessageKey<T> key, T initialValue, NetworkDirection networkDirection) {
 		Objects.requireNonNull(key, "key");
 		Objects.requireNonNull(networkDirection, "networkDirection");
-		var slot = new DataSlotImpl<>(this, key, initialValue, networkDirection);
-		getNetworking(networkDirection.to()).receive(key, slot::set);
-		dataSlots.add(slot);
-		return slot;
+		return dataSlotSync.add(new DataSlotImpl<>(dataSlotSync, key, initialValue, networkDirection));
 	}
 
 	/**
@@ -665,7 +867,7 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	 * <p>The initial value of a data slot will not be synced.
 	 *
 	 * <p>For item stack and int data slots, you should usually use
-	 * {@linkplain Slot vanilla}/{@linkplain io.github.cottonmc.cotton.gui.widget.WItemSlot LibGui}
+	 * {@linkplain net.minecraft.screen.slot.Slot vanilla}/{@linkplain io.github.cottonmc.cotton.gui.widget.WItemSlot LibGui}
 	 * slots and {@linkplain PropertyDelegate property delegates}, respectively.
 	 *
 	 * @param key          the key of the sync message, cannot be null
@@ -678,9 +880,313 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 		return registerDataSlot(key, initialValue, NetworkDirection.SERVER_TO_CLIENT);
 	}
 
+	/**
+	 * Registers a data slot holding a primitive {@code int}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id               the ID of the sync message, cannot be null
+	 * @param initialValue     the initial value of the data slot
+	 * @param networkDirection the network direction to sync, cannot be null
+	 * @return the data slot
+	 * @since 15.0.0
+	 */
+	public IntDataSlot registerIntDataSlot(Identifier id, int initialValue, NetworkDirection networkDirection) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(networkDirection, "networkDirection");
+		return dataSlotSync.add(new IntDataSlotImpl(dataSlotSync, id, initialValue, networkDirection));
+	}
+
+	/**
+	 * Registers an S2C data slot holding a primitive {@code int}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id           the ID of the sync message, cannot be null
+	 * @param initialValue the initial value of the data slot
+	 * @return the data slot
+	 * @since 15.0.0
+	 */
+	public IntDataSlot registerIntDataSlot(Identifier id, int initialValue) {
+		return registerIntDataSlot(id, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Registers a data slot holding a primitive {@code long}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id               the ID of the sync message, cannot be null
+	 * @param initialValue     the initial value of the data slot
+	 * @param networkDirection the network direction to sync, cannot be null
+	 * @return the data slot
+	 * @since 15.0.0
+	 */
+	public LongDataSlot registerLongDataSlot(Identifier id, long initialValue, NetworkDirection networkDirection) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(networkDirection, "networkDirection");
+		return dataSlotSync.add(new LongDataSlotImpl(dataSlotSync, id, initialValue, networkDirection));
+	}
+
+	/**
+	 * Registers an S2C data slot holding a primitive {@code long}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id           the ID of the sync message, cannot be null
+	 * @param initialValue the initial value of the data slot
+	 * @return the data slot
+	 * @since 15.0.0
+	 */
+	public LongDataSlot registerLongDataSlot(Identifier id, long initialValue) {
+		return registerLongDataSlot(id, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Registers a data slot holding a primitive {@code boolean}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id               the ID of the sync message, cannot be null
+	 * @param initialValue     the initial value of the data slot
+	 * @param networkDirection the network direction to sync, cannot be null
+	 * @return the data slot
+	 * @since 15.0.0
+	 */
+	public BooleanDataSlot registerBooleanDataSlot(Identifier id, boolean initialValue, NetworkDirection networkDirection) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(networkDirection, "networkDirection");
+		return dataSlotSync.add(new BooleanDataSlotImpl(dataSlotSync, id, initialValue, networkDirection));
+	}
+
+	/**
+	 * Registers an S2C data slot holding a primitive {@code boolean}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id           the ID of the sync message, cannot be null
+	 * @param initialValue the initial value of the data slot
+	 * @return the data slot
+	 * @since 15.0.0
+	 */
+	public BooleanDataSlot registerBooleanDataSlot(Identifier id, boolean initialValue) {
+		return registerBooleanDataSlot(id, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Registers a property delegate that is synced from the server to the client with full {@code long} values.
+	 *
+	 * <p>This method must be called on both network sides in order for the properties
+	 * to sync properly. Unlike {@link #addProperties(PropertyDelegate)}, which syncs 16-bit values,
+	 * all changed properties are sent together in a single delta-coded message per tick.
+	 *
+	 * <p>On the server, the returned delegate reads the properties of the passed delegate.
+	 * If the passed delegate is a {@link WidePropertyDelegate}, its {@code long} values are synced.
+	 * On the client, the synced values are written to the passed delegate if it's a {@link WidePropertyDelegate},
+	 * and otherwise to a new wide property delegate of the same size.
+	 *
+	 * <h2>Example</h2>
+	 * {@snippet :
+	 * // Don't pass the property delegate to the constructor, as that would sync it with vanilla properties.
+	 * super(type, syncId, playerInventory, getBlockInventory(context, 1), null);
+	 * setPropertyDelegate(registerWidePropertyDelegate(Identifier.of("my_mod", "properties"), getBlockPropertyDelegate(context, 2)));
+	 * }
+	 *
+	 * @param id       the ID of the sync message, cannot be null
+	 * @param delegate the property delegate, cannot be null
+	 * @return the wide property delegate that should be used by widgets
+	 * @since 15.0.0
+	 */
+	public WidePropertyDelegate registerWidePropertyDelegate(Identifier id, PropertyDelegate delegate) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(delegate, "delegate");
+		WidePropertyDelegate wide;
+
+		if (getNetworkSide() == NetworkSide.SERVER || delegate instanceof WidePropertyDelegate) {
+			wide = WidePropertyDelegate.of(delegate);
+		} else {
+			wide = WidePropertyDelegate.create(delegate.size());
+		}
+
+		dataSlotSync.add(new WidePropertyDelegateSlotImpl(dataSlotSync, id, wide));
+		return wide;
+	}
+
+	/**
+	 * Registers an S2C data slot that mirrors a {@linkplain SharedDataSlotSource shared data slot source}.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly. On the server, the data slot follows the value of the source, and
+	 * its updates are encoded once for all screens viewing the same source. The current value of the source
+	 * is synced when the screen is opened. On the client, the source is ignored (and can be null),
+	 * and the data slot works like a normal S2C data slot.
+	 *
+	 * <p>The server-side value of the data slot should be changed through the source.
+	 *
+	 * @param key          the key of the sync message, cannot be null
+	 * @param initialValue the initial value of the data slot
+	 * @param source       the shared source, or null if not available on this side
+	 * @return the data slot
+	 * @param <T> the data slot content type
+	 * @since 15.0.0
+	 */
+	public <T> DataSlot<T> registerSharedDataSlot(ScreenMessageKey<T> key, T initialValue, @Nullable SharedDataSlotSource<T> source) {
+		Objects.requireNonNull(key, "key");
+
+		if (getNetworkSide() == NetworkSide.SERVER && source != null) {
+			return dataSlotSync.add(new SharedDataSlotImpl<>(dataSlotSync, key, initialValue, (SharedDataSlotSourceImpl<T>) source));
+		}
+
+		return registerDataSlot(key, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Registers a list data slot that syncs individual changes to the list.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id               the ID of the sync message, cannot be null
+	 * @param elementCodec     the packet codec of the list elements, cannot be null
+	 * @param initialValue     the initial elements of the list, cannot be null
+	 * @param networkDirection the network direction to sync, cannot be null
+	 * @return the data slot
+	 * @param <E> the element type
+	 * @since 15.0.0
+	 */
+	public <E> ListDataSlot<E> registerListDataSlot(Identifier id, PacketCodec<? super RegistryByteBuf, E> elementCodec, List<E> initialValue, NetworkDirection networkDirection) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(elementCodec, "elementCodec");
+		Objects.requireNonNull(initialValue, "initialValue");
+		Objects.requireNonNull(networkDirection, "networkDirection");
+		return dataSlotSync.add(new ListDataSlotImpl<>(dataSlotSync, id, elementCodec, initialValue, networkDirection));
+	}
+
+	/**
+	 * Registers an S2C list data slot that syncs individual changes to the list.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id           the ID of the sync message, cannot be null
+	 * @param elementCodec the packet codec of the list elements, cannot be null
+	 * @param initialValue the initial elements of the list, cannot be null
+	 * @return the data slot
+	 * @param <E> the element type
+	 * @since 15.0.0
+	 */
+	public <E> ListDataSlot<E> registerListDataSlot(Identifier id, PacketCodec<? super RegistryByteBuf, E> elementCodec, List<E> initialValue) {
+		return registerListDataSlot(id, elementCodec, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Registers a map data slot that syncs individual changes to the map.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id               the ID of the sync message, cannot be null
+	 * @param keyCodec         the packet codec of the map keys, cannot be null
+	 * @param valueCodec       the packet codec of the map values, cannot be null
+	 * @param initialValue     the initial entries of the map, cannot be null
+	 * @param networkDirection the network direction to sync, cannot be null
+	 * @return the data slot
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 * @since 15.0.0
+	 */
+	public <K, V> MapDataSlot<K, V> registerMapDataSlot(Identifier id, PacketCodec<? super RegistryByteBuf, K> keyCodec, PacketCodec<? super RegistryByteBuf, V> valueCodec, Map<K, V> initialValue, NetworkDirection networkDirection) {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(keyCodec, "keyCodec");
+		Objects.requireNonNull(valueCodec, "valueCodec");
+		Objects.requireNonNull(initialValue, "initialValue");
+		Objects.requireNonNull(networkDirection, "networkDirection");
+		return dataSlotSync.add(new MapDataSlotImpl<>(dataSlotSync, id, keyCodec, valueCodec, initialValue, networkDirection));
+	}
+
+	/**
+	 * Registers an S2C map data slot that syncs individual changes to the map.
+	 *
+	 * <p>This method must be called on both network sides in order for the data slot
+	 * to sync properly.
+	 *
+	 * <p>The initial value of a data slot will not be synced.
+	 *
+	 * @param id           the ID of the sync message, cannot be null
+	 * @param keyCodec     the packet codec of the map keys, cannot be null
+	 * @param valueCodec   the packet codec of the map values, cannot be null
+	 * @param initialValue the initial entries of the map, cannot be null
+	 * @return the data slot
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 * @since 15.0.0
+	 */
+	public <K, V> MapDataSlot<K, V> registerMapDataSlot(Identifier id, PacketCodec<? super RegistryByteBuf, K> keyCodec, PacketCodec<? super RegistryByteBuf, V> valueCodec, Map<K, V> initialValue) {
+		return registerMapDataSlot(id, keyCodec, valueCodec, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+	}
+
+	/**
+	 * Queues a task to run once at the end of the current tick, before data slot updates are sent.
+	 *
+	 * <p>This is used for batching work that would otherwise be done for every change during a tick,
+	 * such as {@linkplain io.github.cottonmc.cotton.gui.widget.WItemSlot#addCoalescedChangeListener coalesced
+	 * slot change listeners}. Tasks queued by other end-of-tick tasks run at the end of the next tick.
+	 *
+	 * @param task the task, cannot be null
+	 * @since 15.0.0
+	 */
+	public void runAtEndOfTick(Runnable task) {
+		Objects.requireNonNull(task, "task");
+		endOfTickTasks.add(task);
+	}
+
+	private void runEndOfTickTasks() {
+		int count = endOfTickTasks.size();
+		if (count == 0) return;
+
+		try {
+			for (int i = 0; i < count; i++) {
+				endOfTickTasks.get(i).run();
+			}
+		} finally {
+			endOfTickTasks.subList(0, count).clear();
+		}
+	}
+
 	/**
 	 * Checks for and sends data slot content updates.
 	 *
+	 * <p>All data slot updates of a single call are sent together in one packet.
+	 * Data slots are sent in {@linkplain io.github.cottonmc.cotton.gui.networking.SyncPriority priority} order,
+	 * and updates exceeding the {@linkplain ScreenNetworking#getTickByteBudget() tick byte budget}
+	 * are deferred to later calls. After the data slots, the next parts of
+	 * {@linkplain ScreenNetworking#sendStreamed(Identifier, net.minecraft.network.codec.PacketEncoder, Object) streamed messages}
+	 * are sent.
+	 *
 	 * <p>This method is generally called automatically.
 	 * If you need to manually sync data slots from the server to the client,
 	 * prefer {@link #sendContentUpdates()}.
@@ -688,13 +1194,19 @@ public class SyncedGuiDescription extends ScreenHandler implements GuiDescriptio
 	 * @since 13.1.0
 	 */
 	public void sendDataSlotUpdates() {
-		if (!((ScreenHandlerAccessor) this).libgui$getDisableSync() && networking.isReady()) {
-			NetworkSide side = getNetworkSide();
-			for (DataSlotImpl<?> dataSlot : dataSlots) {
-				if (side == dataSlot.getNetworkDirection().from()) {
-					dataSlot.checkAndSendUpdate();
-				}
-			}
+		networking.startTick(TickCounter.get(getNetworkSide()));
+		runEndOfTickTasks();
+		reportHiddenSlots();
+
+		if (!((ScreenHandlerAccessor) this).libgui$getDisableSync()) {
+			dataSlotSync.sendUpdates();
+		}
+	}
+
+	private void reportHiddenSlots() {
+		if (hiddenSlotSync != null && getNetworkSide() == NetworkSide.CLIENT && networking.isReady()) {
+			BitSet hiddenSlots = hiddenSlotSync.pollHiddenSlots(slots);
+			if (hiddenSlots != null) networking.send(HiddenSlotSync.MESSAGE_KEY, hiddenSlots);
 		}
 	}
 }
@@ -5,11 +5,14 @@ import net.minecraft.inventory.Inventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.screen.slot.Slot;
 
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ForwardingMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
 import io.github.cottonmc.cotton.gui.impl.VisualLogger;
+import io.github.cottonmc.cotton.gui.impl.mixin.SlotAccessor;
 import io.github.cottonmc.cotton.gui.widget.WItemSlot;
 
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -26,7 +29,39 @@ public class ValidatedSlot extends Slot {
 	private boolean takingAllowed = true;
 	private Predicate<ItemStack> inputFilter = DEFAULT_ITEM_FILTER;
 	private Predicate<ItemStack> outputFilter = DEFAULT_ITEM_FILTER;
-	protected final Multimap<WItemSlot, WItemSlot.ChangeListener> listeners = HashMultimap.create();
+	// Listeners are stored as flat arrays so that markDirty doesn't allocate
+	private WItemSlot[] listenerOwners = new WItemSlot[0];
+	private WItemSlot.ChangeListener[] changeListeners = new WItemSlot.ChangeListener[0];
+	private int listenerCount = 0;
+
+	/**
+	 * The change listeners of this slot by their owner.
+	 *
+	 * <p>This is a view of the listeners that copies them on each access. Adding listeners with
+	 * {@link Multimap#put put} is supported, other modifications are not.
+	 *
+	 * @deprecated Use {@link #addChangeListener(WItemSlot, WItemSlot.ChangeListener)} instead.
+	 */
+	@Deprecated(forRemoval = true, since = "15.0.0")
+	protected final Multimap<WItemSlot, WItemSlot.ChangeListener> listeners = new ForwardingMultimap<>() {
+		@Override
+		protected Multimap<WItemSlot, WItemSlot.ChangeListener> delegate() {
+			ImmutableSetMultimap.Builder<WItemSlot, WItemSlot.ChangeListener> builder = ImmutableSetMultimap.builder();
+
+			for (int i = 0; i < listenerCount; i++) {
+				builder.put(listenerOwners[i], changeListeners[i]);
+			}
+
+			return builder.build();
+		}
+
+		@Override
+		public boolean put(WItemSlot key, WItemSlot.ChangeListener value) {
+			int previousCount = listenerCount;
+			addChangeListener(key, value);
+			return listenerCount != previousCount;
+		}
+	};
 	private boolean visible = true;
 
 	public ValidatedSlot(Inventory inventory, int index, int x, int y) {
@@ -63,10 +98,29 @@ public class ValidatedSlot extends Slot {
 
 	@Override
 	public void markDirty() {
-		listeners.forEach((slot, listener) -> listener.onStackChanged(slot, inventory, getInventoryIndex(), getStack()));
+		for (int i = 0; i < listenerCount; i++) {
+			changeListeners[i].onStackChanged(listenerOwners[i], inventory, getInventoryIndex(), getStack());
+		}
+
 		super.markDirty();
 	}
 
+	/**
+	 * Moves this slot to a new position.
+	 *
+	 * <p>This is used for reusing slot peers when their widgets are moved,
+	 * for example when the screen is resized.
+	 *
+	 * @param x the new X coordinate
+	 * @param y the new Y coordinate
+	 * @since 15.0.0
+	 */
+	public void setPosition(int x, int y) {
+		SlotAccessor accessor = (SlotAccessor) this;
+		accessor.libgui$setX(x);
+		accessor.libgui$setY(y);
+	}
+
 	/**
 	 * Gets the index of this slot in its inventory.
 	 *
@@ -168,7 +222,20 @@ public class ValidatedSlot extends Slot {
 	public void addChangeListener(WItemSlot owner, WItemSlot.ChangeListener listener) {
 		Objects.requireNonNull(owner, "owner");
 		Objects.requireNonNull(listener, "listener");
-		listeners.put(owner, listener);
+
+		for (int i = 0; i < listenerCount; i++) {
+			if (listenerOwners[i].equals(owner) && changeListeners[i].equals(listener)) return;
+		}
+
+		if (listenerCount == changeListeners.length) {
+			int capacity = Math.max(2, listenerCount * 2);
+			listenerOwners = Arrays.copyOf(listenerOwners, capacity);
+			changeListeners = Arrays.copyOf(changeListeners, capacity);
+		}
+
+		listenerOwners[listenerCount] = owner;
+		changeListeners[listenerCount] = listener;
+		listenerCount++;
 	}
 
 	@Override
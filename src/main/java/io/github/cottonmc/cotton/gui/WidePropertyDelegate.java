@@ -0,0 +1,109 @@
+package io.github.cottonmc.cotton.gui;
+
+import net.minecraft.screen.PropertyDelegate;
+
+import java.util.Objects;
+
+/**
+ * A property delegate with {@code long} properties.
+ *
+ * <p>Vanilla syncs property delegates as 16-bit values. Wide property delegates registered with
+ * {@link SyncedGuiDescription#registerWidePropertyDelegate(net.minecraft.util.Identifier, PropertyDelegate)}
+ * are synced with LibGui's screen networking instead, which keeps the full 64-bit values.
+ *
+ * <p>The {@code int} methods of this interface clamp the values to the {@code int} range,
+ * so wide property delegates can be used everywhere normal property delegates can.
+ * {@link io.github.cottonmc.cotton.gui.widget.WBar WBar} uses the full {@code long} values.
+ *
+ * @since 15.0.0
+ */
+public interface WidePropertyDelegate extends PropertyDelegate {
+	/**
+	 * Creates a wide property delegate backed by an array.
+	 *
+	 * @param size the number of properties
+	 * @return the created property delegate
+	 */
+	static WidePropertyDelegate create(int size) {
+		long[] values = new long[size];
+
+		return new WidePropertyDelegate() {
+			@Override
+			public long getLong(int index) {
+				return values[index];
+			}
+
+			@Override
+			public void setLong(int index, long value) {
+				values[index] = value;
+			}
+
+			@Override
+			public int size() {
+				return values.length;
+			}
+		};
+	}
+
+	/**
+	 * Returns a wide view of a property delegate. If the delegate is already
+	 * a wide property delegate, it is returned as is.
+	 *
+	 * @param delegate the property delegate
+	 * @return a wide property delegate reading and writing the delegate's properties
+	 */
+	static WidePropertyDelegate of(PropertyDelegate delegate) {
+		Objects.requireNonNull(delegate, "delegate");
+
+		if (delegate instanceof WidePropertyDelegate wide) {
+			return wide;
+		}
+
+		return new WidePropertyDelegate() {
+			@Override
+			public long getLong(int index) {
+				return delegate.get(index);
+			}
+
+			@Override
+			public void setLong(int index, long value) {
+				delegate.set(index, (int) Math.clamp(value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+			}
+
+			@Override
+			public int size() {
+				return delegate.size();
+			}
+		};
+	}
+
+	/**
+	 * {@return the value of a property}
+	 *
+	 * @param index the property index
+	 */
+	long getLong(int index);
+
+	/**
+	 * Sets the value of a property.
+	 *
+	 * @param index the property index
+	 * @param value the new value
+	 */
+	void setLong(int index, long value);
+
+	/**
+	 * {@return the value of a property, clamped to the {@code int} range}
+	 *
+	 * @param index the property index
+	 */
+	@Override
+	default int get(int index) {
+		return (int) Math.clamp(getLong(index), Integer.MIN_VALUE, Integer.MAX_VALUE);
+	}
+
+	@Override
+	default void set(int index, int value) {
+		setLong(index, value);
+	}
+}
@@ -1,6 +1,5 @@
 package io.github.cottonmc.cotton.gui.client;
 
-import com.mojang.datafixers.util.Unit;
 import net.minecraft.client.gui.Click;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.Element;
@@ -67,7 +66,7 @@ public class CottonInventoryScreen<T extends SyncedGuiDescription> extends Handl
 		height = 18*9;
 		this.backgroundWidth = 18*9;
 		this.backgroundHeight = 18*9;
-		description.getRootPanel().validate(description);
+		description.revalidateRootPanel();
 	}
 
 	/**
@@ -143,13 +142,6 @@ public class CottonInventoryScreen<T extends SyncedGuiDescription> extends Handl
 		this.lastResponder = lastResponder;
 	}
 
-	/**
-	 * Clears the heavyweight peers of this screen's GUI description.
-	 */
-	private void clearPeers() {
-		description.slots.clear();
-	}
-
 	/**
 	 * Repositions the root panel.
 	 *
@@ -159,8 +151,7 @@ public class CottonInventoryScreen<T extends SyncedGuiDescription> extends Handl
 	protected void reposition(int screenWidth, int screenHeight) {
 		WPanel basePanel = description.getRootPanel();
 		if (basePanel!=null) {
-			clearPeers();
-			basePanel.validate(description);
+			description.revalidateRootPanel();
 
 			backgroundWidth = basePanel.getWidth();
 			backgroundHeight = basePanel.getHeight();
@@ -346,8 +337,7 @@ public class CottonInventoryScreen<T extends SyncedGuiDescription> extends Handl
 	public void onDisplayed() {
 		if (description != null) {
 			ScreenNetworking networking = description.getNetworking(NetworkSide.CLIENT);
-			((ScreenNetworkingImpl) networking).markReady();
-			networking.send(ScreenNetworkingImpl.CLIENT_READY_MESSAGE_KEY, Unit.INSTANCE);
+			((ScreenNetworkingImpl) networking).sendClientReady();
 		}
 	}
 }
@@ -0,0 +1,110 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import io.github.cottonmc.cotton.gui.networking.ChangeDetection;
+import io.github.cottonmc.cotton.gui.networking.DataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import io.github.cottonmc.cotton.gui.networking.SyncPolicy;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+import io.github.cottonmc.cotton.gui.widget.data.ObservableProperty;
+
+import java.util.Objects;
+
+public abstract class AbstractDataSlotImpl<T> extends BaseDataSlotImpl implements DataSlot<T> {
+	private final ScreenMessageKey<T> key;
+	protected final ObservableProperty<T> value;
+	protected ChangeDetection changeDetection = ChangeDetection.EQUALS;
+	private SyncPolicy<? super T> syncPolicy = SyncPolicy.everyTick();
+	// Game ticks from TickCounter, so repeated update checks during a tick don't count as ticks
+	private long lastSentTick = 0;
+	private long lastChangedTick;
+	private boolean hasSentValue = false;
+	private T lastSentValue;
+
+	protected AbstractDataSlotImpl(DataSlotSync sync, ScreenMessageKey<T> key, T initialValue, NetworkDirection networkDirection) {
+		super(sync, networkDirection);
+		this.key = key;
+		this.value = ObservableProperty.of(initialValue)
+			.name("value")
+			.equality((a, b) -> changeDetection == ChangeDetection.EQUALS ? Objects.equals(a, b) : a == b)
+			.build();
+		this.value.addListener((property, from, to) -> onValueChanged(from, to));
+		this.lastChangedTick = getCurrentTick();
+	}
+
+	private long getCurrentTick() {
+		return TickCounter.get(sync.getSide());
+	}
+
+	protected void onValueChanged(T from, T to) {
+		dirty = true;
+		lastChangedTick = getCurrentTick();
+	}
+
+	@Override
+	public ObservableProperty<T> valueProperty() {
+		return value;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The {@linkplain #getSyncPolicy() sync policy} is checked against game ticks,
+	 * so this method can be called any number of times per tick.
+	 */
+	@Override
+	protected boolean isUpdateAllowed() {
+		if (!hasSentValue) {
+			return true;
+		}
+
+		long tick = getCurrentTick();
+
+		if (tick - lastSentTick < syncPolicy.getMinInterval()) {
+			return false;
+		}
+
+		return tick - lastChangedTick >= SyncPolicy.SETTLE_TICKS
+			|| syncPolicy.isSignificantChange(lastSentValue, value.get());
+	}
+
+	@Override
+	protected void onUpdateSent() {
+		lastSentTick = getCurrentTick();
+		hasSentValue = true;
+		lastSentValue = value.get();
+	}
+
+	@Override
+	public ScreenMessageKey<T> getKey() {
+		return key;
+	}
+
+	@Override
+	public DataSlot<T> setPriority(SyncPriority priority) {
+		this.priority = Objects.requireNonNull(priority, "priority");
+		return this;
+	}
+
+	@Override
+	public SyncPolicy<? super T> getSyncPolicy() {
+		return syncPolicy;
+	}
+
+	@Override
+	public DataSlot<T> setSyncPolicy(SyncPolicy<? super T> syncPolicy) {
+		this.syncPolicy = Objects.requireNonNull(syncPolicy, "syncPolicy");
+		return this;
+	}
+
+	@Override
+	public ChangeDetection getChangeDetection() {
+		return changeDetection;
+	}
+
+	@Override
+	public DataSlot<T> setChangeDetection(ChangeDetection changeDetection) {
+		this.changeDetection = Objects.requireNonNull(changeDetection, "changeDetection");
+		return this;
+	}
+}
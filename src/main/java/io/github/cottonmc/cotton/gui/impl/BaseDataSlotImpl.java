@@ -0,0 +1,72 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+
+/**
+ * The sync logic shared by all data slot types.
+ */
+public abstract class BaseDataSlotImpl {
+	protected final DataSlotSync sync;
+	private final NetworkDirection networkDirection;
+	protected boolean dirty = false;
+	protected SyncPriority priority = SyncPriority.NORMAL;
+
+	protected BaseDataSlotImpl(DataSlotSync sync, NetworkDirection networkDirection) {
+		this.sync = sync;
+		this.networkDirection = networkDirection;
+	}
+
+	/**
+	 * Registers the receiver that applies incoming updates to this data slot.
+	 *
+	 * @param networking the networking handler of the receiving side
+	 */
+	public abstract void registerReceiver(ScreenNetworking networking);
+
+	/**
+	 * Sends the current update of this data slot.
+	 * The update might be deferred, in which case this method will be called again later.
+	 *
+	 * @param networking the networking handler of the sending side
+	 */
+	protected abstract void sendUpdate(ScreenNetworking networking);
+
+	/**
+	 * Called after the update has been sent and not deferred.
+	 */
+	protected void onUpdateSent() {
+	}
+
+	/**
+	 * {@return whether a dirty data slot is allowed to send its update this tick}
+	 */
+	protected boolean isUpdateAllowed() {
+		return true;
+	}
+
+	/**
+	 * Sends an update if this data slot is dirty and the update is allowed.
+	 * This method should be called once per tick.
+	 */
+	public void checkAndSendUpdate() {
+		if (dirty && isUpdateAllowed()) {
+			ScreenNetworkingImpl networking = sync.getNetworking(networkDirection.from());
+			boolean sent = networking.sendWithPriority(priority, () -> sendUpdate(networking));
+
+			if (sent) {
+				dirty = false;
+				onUpdateSent();
+			}
+		}
+	}
+
+	public NetworkDirection getNetworkDirection() {
+		return networkDirection;
+	}
+
+	public SyncPriority getPriority() {
+		return priority;
+	}
+}
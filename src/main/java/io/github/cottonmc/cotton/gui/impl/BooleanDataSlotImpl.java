@@ -0,0 +1,57 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.BooleanDataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class BooleanDataSlotImpl extends PrimitiveDataSlotImpl<Boolean> implements BooleanDataSlot {
+	private final List<ChangeListener> listeners = new ArrayList<>();
+
+	public BooleanDataSlotImpl(DataSlotSync sync, Identifier id, boolean initialValue, NetworkDirection networkDirection) {
+		super(sync, id, initialValue ? 1 : 0, networkDirection);
+	}
+
+	@Override
+	public boolean get() {
+		return getRawValue() != 0;
+	}
+
+	@Override
+	public void set(boolean value) {
+		setRawValue(value ? 1 : 0);
+	}
+
+	@Override
+	protected void onValueChanged(long from, long to) {
+		for (ChangeListener listener : listeners) {
+			listener.onValueChanged(this, from != 0, to != 0);
+		}
+	}
+
+	@Override
+	protected long normalize(long value) {
+		return value != 0 ? 1 : 0;
+	}
+
+	@Override
+	protected Boolean box(long value) {
+		return value != 0;
+	}
+
+	@Override
+	public void addChangeListener(ChangeListener listener) {
+		listeners.add(Objects.requireNonNull(listener, "listener"));
+	}
+
+	@Override
+	public BooleanDataSlot setPriority(SyncPriority priority) {
+		this.priority = Objects.requireNonNull(priority, "priority");
+		return this;
+	}
+}
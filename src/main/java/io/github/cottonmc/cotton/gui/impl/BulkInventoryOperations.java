@@ -0,0 +1,251 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.screen.slot.Slot;
+
+import io.github.cottonmc.cotton.gui.BulkOperation;
+import io.github.cottonmc.cotton.gui.ValidatedSlot;
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import io.netty.handler.codec.DecoderException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The server-side implementation of {@linkplain BulkOperation bulk inventory operations}.
+ *
+ * <p>All operations modify the stacks in place and only mark the changed slots dirty.
+ */
+public final class BulkInventoryOperations {
+	private static final int MAX_ITEMS = 256;
+	private static final PacketCodec<RegistryByteBuf, List<Item>> ITEMS_CODEC =
+			PacketCodecs.registryValue(RegistryKeys.ITEM).collect(PacketCodecs.toList(MAX_ITEMS));
+
+	private static final PacketCodec<RegistryByteBuf, BulkOperation> OPERATION_CODEC = new PacketCodec<>() {
+		@Override
+		public BulkOperation decode(RegistryByteBuf buf) {
+			int type = buf.readVarInt();
+			return switch (type) {
+				case 0 -> new BulkOperation.Sort(readEnum(buf, BulkOperation.Target.values()), readEnum(buf, BulkOperation.SortOrder.values()));
+				case 1 -> new BulkOperation.Compact(readEnum(buf, BulkOperation.Target.values()));
+				case 2 -> new BulkOperation.MoveMatching(readEnum(buf, BulkOperation.Target.values()), readEnum(buf, BulkOperation.Target.values()), ITEMS_CODEC.decode(buf));
+				default -> throw new DecoderException("Unknown bulk operation type: " + type);
+			};
+		}
+
+		@Override
+		public void encode(RegistryByteBuf buf, BulkOperation operation) {
+			switch (operation) {
+				case BulkOperation.Sort(BulkOperation.Target target, BulkOperation.SortOrder order) -> {
+					buf.writeVarInt(0);
+					buf.writeVarInt(target.ordinal());
+					buf.writeVarInt(order.ordinal());
+				}
+				case BulkOperation.Compact(BulkOperation.Target target) -> {
+					buf.writeVarInt(1);
+					buf.writeVarInt(target.ordinal());
+				}
+				case BulkOperation.MoveMatching(BulkOperation.Target from, BulkOperation.Target to, List<Item> items) -> {
+					buf.writeVarInt(2);
+					buf.writeVarInt(from.ordinal());
+					buf.writeVarInt(to.ordinal());
+					ITEMS_CODEC.encode(buf, items);
+				}
+			}
+		}
+	};
+
+	/**
+	 * The C2S message that requests a bulk operation.
+	 */
+	public static final ScreenMessageKey<BulkOperation> MESSAGE_KEY = new ScreenMessageKey<>(LibGuiCommon.id("bulk_operation"), OPERATION_CODEC);
+
+	private BulkInventoryOperations() {
+	}
+
+	private static <E extends Enum<E>> E readEnum(RegistryByteBuf buf, E[] values) {
+		int index = buf.readVarInt();
+
+		if (index < 0 || index >= values.length) {
+			throw new DecoderException("Enum index out of bounds: " + index);
+		}
+
+		return values[index];
+	}
+
+	/**
+	 * Checks whether a slot can be rearranged by a bulk operation.
+	 * The player must be able to both take items from and insert items into the slot.
+	 */
+	private static boolean isRearrangeable(Slot slot, PlayerEntity player) {
+		if (slot instanceof ValidatedSlot validated && !validated.isInsertingAllowed()) return false;
+		return slot.canTakeItems(player);
+	}
+
+	private static int getMaxCount(Slot slot, ItemStack stack) {
+		return Math.min(stack.getMaxCount(), slot.getMaxItemCount(stack));
+	}
+
+	/**
+	 * Sorts the stacks in the slots. Partial stacks are merged before sorting.
+	 * If a sorted stack doesn't fit in its target slot, nothing is changed.
+	 *
+	 * @param slots      the slots of the sorted inventory
+	 * @param player     the player performing the operation
+	 * @param comparator the stack comparator
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 */
+	public static boolean sort(List<Slot> slots, PlayerEntity player, Comparator<? super ItemStack> comparator) {
+		List<Slot> targets = new ArrayList<>(slots.size());
+		List<ItemStack> stacks = new ArrayList<>(slots.size());
+		Map<Item, List<ItemStack>> partialStacks = new IdentityHashMap<>();
+
+		for (Slot slot : slots) {
+			if (!isRearrangeable(slot, player)) continue;
+			targets.add(slot);
+
+			ItemStack stack = slot.getStack();
+			if (stack.isEmpty()) continue;
+
+			ItemStack remaining = stack.copy();
+			List<ItemStack> partials = partialStacks.computeIfAbsent(remaining.getItem(), item -> new ArrayList<>());
+
+			for (ItemStack partial : partials) {
+				if (ItemStack.areItemsAndComponentsEqual(partial, remaining)) {
+					int moved = Math.min(partial.getMaxCount() - partial.getCount(), remaining.getCount());
+					partial.increment(moved);
+					remaining.decrement(moved);
+					if (remaining.isEmpty()) break;
+				}
+			}
+
+			partials.removeIf(partial -> partial.getCount() >= partial.getMaxCount());
+
+			if (!remaining.isEmpty()) {
+				stacks.add(remaining);
+				if (remaining.getCount() < remaining.getMaxCount()) partials.add(remaining);
+			}
+		}
+
+		stacks.sort(comparator);
+
+		// Validate the whole layout before applying it
+		for (int i = 0; i < stacks.size(); i++) {
+			Slot target = targets.get(i);
+			ItemStack stack = stacks.get(i);
+			if (stack.getCount() > getMaxCount(target, stack) || !target.canInsert(stack)) return false;
+		}
+
+		boolean changed = false;
+
+		for (int i = 0; i < targets.size(); i++) {
+			Slot target = targets.get(i);
+			ItemStack stack = i < stacks.size() ? stacks.get(i) : ItemStack.EMPTY;
+
+			if (!ItemStack.areEqual(target.getStack(), stack)) {
+				target.setStack(stack);
+				changed = true;
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Merges partial stacks into earlier partial stacks of the same item.
+	 * The order of the stacks is otherwise preserved.
+	 *
+	 * @param slots  the slots of the compacted inventory
+	 * @param player the player performing the operation
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 */
+	public static boolean compact(List<Slot> slots, PlayerEntity player) {
+		Map<Item, List<Slot>> partialSlots = new IdentityHashMap<>();
+		boolean changed = false;
+
+		for (Slot slot : slots) {
+			if (!isRearrangeable(slot, player)) continue;
+
+			ItemStack stack = slot.getStack();
+			if (stack.isEmpty()) continue;
+
+			List<Slot> partials = partialSlots.computeIfAbsent(stack.getItem(), item -> new ArrayList<>());
+			boolean slotChanged = false;
+
+			for (Slot partialSlot : partials) {
+				ItemStack partial = partialSlot.getStack();
+
+				if (ItemStack.areItemsAndComponentsEqual(partial, stack) && partialSlot.canInsert(stack)) {
+					int moved = Math.min(getMaxCount(partialSlot, partial) - partial.getCount(), stack.getCount());
+
+					if (moved > 0) {
+						partial.increment(moved);
+						stack.decrement(moved);
+						partialSlot.markDirty();
+						slotChanged = true;
+						if (stack.isEmpty()) break;
+					}
+				}
+			}
+
+			partials.removeIf(partialSlot -> partialSlot.getStack().getCount() >= getMaxCount(partialSlot, partialSlot.getStack()));
+
+			if (slotChanged) {
+				changed = true;
+
+				if (stack.isEmpty()) {
+					slot.setStack(ItemStack.EMPTY);
+				} else {
+					slot.markDirty();
+				}
+			}
+
+			if (!stack.isEmpty() && stack.getCount() < getMaxCount(slot, stack)) {
+				partials.add(slot);
+			}
+		}
+
+		return changed;
+	}
+
+	/**
+	 * Moves all matching stacks from one inventory to another.
+	 * Stacks are inserted like {@linkplain QuickMoveHelper shift-clicked} stacks.
+	 *
+	 * @param from      the slots of the source inventory
+	 * @param to        the slots of the target inventory
+	 * @param player    the player performing the operation
+	 * @param predicate the predicate for moved stacks
+	 * @return {@code true} if any slots were changed, {@code false} otherwise
+	 */
+	public static boolean moveMatching(List<Slot> from, List<Slot> to, PlayerEntity player, Predicate<? super ItemStack> predicate) {
+		boolean changed = false;
+
+		for (Slot slot : from) {
+			ItemStack stack = slot.getStack();
+			if (stack.isEmpty() || !predicate.test(stack) || !slot.canTakeItems(player)) continue;
+
+			if (QuickMoveHelper.insertItem(stack, to, false)) {
+				changed = true;
+
+				if (stack.isEmpty()) {
+					slot.setStack(ItemStack.EMPTY);
+				} else {
+					slot.markDirty();
+				}
+			}
+		}
+
+		return changed;
+	}
+}
@@ -1,45 +1,46 @@
 package io.github.cottonmc.cotton.gui.impl;
 
-import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
-import io.github.cottonmc.cotton.gui.networking.DataSlot;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.github.cottonmc.cotton.gui.networking.ChangeDetection;
 import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
 import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
-import io.github.cottonmc.cotton.gui.widget.data.ObservableProperty;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import org.jetbrains.annotations.Nullable;
 
-public final class DataSlotImpl<T> implements DataSlot<T> {
-	private final SyncedGuiDescription owner;
-	private final ScreenMessageKey<T> key;
-	private final ObservableProperty<T> value;
-	private final NetworkDirection networkDirection;
-	private boolean dirty = false;
+public final class DataSlotImpl<T> extends AbstractDataSlotImpl<T> {
+	private @Nullable HashCode lastSentHash = null;
+	private @Nullable HashCode sendingHash = null;
 
-	public DataSlotImpl(SyncedGuiDescription owner, ScreenMessageKey<T> key, T initialValue, NetworkDirection networkDirection) {
-		this.owner = owner;
-		this.key = key;
-		this.value = ObservableProperty.of(initialValue).name("value").build();
-		this.value.addListener((property, from, to) -> dirty = true);
-		this.networkDirection = networkDirection;
+	public DataSlotImpl(DataSlotSync sync, ScreenMessageKey<T> key, T initialValue, NetworkDirection networkDirection) {
+		super(sync, key, initialValue, networkDirection);
 	}
 
 	@Override
-	public ObservableProperty<T> valueProperty() {
-		return value;
-	}
-
-	public void checkAndSendUpdate() {
-		if (dirty) {
-			owner.getNetworking(networkDirection.from()).send(key, value.get());
-			dirty = false;
-		}
+	public void registerReceiver(ScreenNetworking networking) {
+		networking.receive(getKey(), this::set);
 	}
 
 	@Override
-	public ScreenMessageKey<T> getKey() {
-		return key;
+	protected void sendUpdate(ScreenNetworking networking) {
+		if (changeDetection == ChangeDetection.ENCODED_HASH) {
+			var networkingImpl = (ScreenNetworkingImpl) networking;
+			byte[] data = networkingImpl.encodeMessage(getKey(), value.get());
+			HashCode hash = Hashing.murmur3_128().hashBytes(data);
+			sendingHash = hash;
+
+			if (!hash.equals(lastSentHash)) {
+				networkingImpl.sendEncoded(getKey().id(), data);
+			}
+		} else {
+			networking.send(getKey(), value.get());
+		}
 	}
 
 	@Override
-	public NetworkDirection getNetworkDirection() {
-		return networkDirection;
+	protected void onUpdateSent() {
+		super.onUpdateSent();
+		lastSentHash = sendingHash;
+		sendingHash = null;
 	}
 }
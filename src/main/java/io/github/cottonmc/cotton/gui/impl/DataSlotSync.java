@@ -0,0 +1,87 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The data slots of a GUI description and the networking handler they sync through.
+ *
+ * <p>Data slots only depend on this class instead of the GUI description,
+ * so their sync can also run without a player or a world, for example in benchmarks.
+ */
+public final class DataSlotSync {
+	private final ScreenNetworkingImpl networking;
+	private final ScreenNetworkingImpl.DummyNetworking inactiveNetworking = new ScreenNetworkingImpl.DummyNetworking();
+	private final NetworkSide side;
+	private final List<BaseDataSlotImpl> dataSlots = new ArrayList<>();
+
+	/**
+	 * Constructs a data slot sync.
+	 *
+	 * @param networking the networking handler of the side
+	 * @param side       the network side
+	 */
+	public DataSlotSync(ScreenNetworkingImpl networking, NetworkSide side) {
+		this.networking = Objects.requireNonNull(networking, "networking");
+		this.side = Objects.requireNonNull(side, "side");
+	}
+
+	/**
+	 * {@return the network side of the data slots}
+	 */
+	public NetworkSide getSide() {
+		return side;
+	}
+
+	/**
+	 * Gets the networking handler that is active on a side.
+	 * If the side doesn't match, returns a no-op networking handler.
+	 *
+	 * @param side the network side
+	 * @return the networking handler corresponding to the side
+	 */
+	public ScreenNetworkingImpl getNetworking(NetworkSide side) {
+		return side == this.side ? networking : inactiveNetworking;
+	}
+
+	/**
+	 * Adds a data slot and registers its receiver.
+	 *
+	 * @param slot the data slot
+	 * @return the data slot
+	 * @param <S> the data slot type
+	 */
+	public <S extends BaseDataSlotImpl> S add(S slot) {
+		slot.registerReceiver(getNetworking(slot.getNetworkDirection().to()));
+		dataSlots.add(slot);
+		return slot;
+	}
+
+	/**
+	 * Sends the updates of all data slots sent from this side in one batch,
+	 * in order of their priorities, followed by pending stream chunks.
+	 * This method should be called once per tick after {@link ScreenNetworkingImpl#startTick(long)}.
+	 */
+	public void sendUpdates() {
+		if (!networking.isReady()) return;
+		networking.beginBatch();
+
+		try {
+			for (SyncPriority priority : SyncPriority.values()) {
+				for (BaseDataSlotImpl dataSlot : dataSlots) {
+					if (side == dataSlot.getNetworkDirection().from() && dataSlot.getPriority() == priority) {
+						dataSlot.checkAndSendUpdate();
+					}
+				}
+			}
+		} finally {
+			networking.flushBatch();
+		}
+
+		networking.sendStreamChunks();
+	}
+}
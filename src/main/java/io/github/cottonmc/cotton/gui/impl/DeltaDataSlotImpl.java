@@ -0,0 +1,234 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.ChangeDetection;
+import io.github.cottonmc.cotton.gui.networking.DataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.widget.data.ObservableProperty;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A data slot that syncs a log of operations instead of the full value.
+ *
+ * <p>Operations are applied in place to a mutable working copy of the value, so they don't copy it.
+ * The working copy is published as a new immutable value when the value is next read or synced,
+ * which means a run of operations only creates one copy and notifies the listeners once.
+ *
+ * <p>The {@linkplain #getKey() key} of the data slot uses the snapshot codec, while the message
+ * on the wire uses an update codec with the same ID that can also contain operations.
+ *
+ * @param <T> the value type
+ * @param <O> the operation type
+ */
+public abstract class DeltaDataSlotImpl<T, O> extends AbstractDataSlotImpl<T> {
+	private static final Logger LOGGER = LoggerFactory.getLogger(DeltaDataSlotImpl.class);
+	private final ScreenMessageKey<Update<T, O>> updateKey;
+	private final List<O> ops = new ArrayList<>();
+	private boolean snapshotNeeded = false;
+	private boolean publishPending = false;
+	private boolean publishing = false;
+
+	protected DeltaDataSlotImpl(DataSlotSync sync, Identifier id, PacketCodec<RegistryByteBuf, T> snapshotCodec, PacketCodec<RegistryByteBuf, O> opCodec, T initialValue, NetworkDirection networkDirection) {
+		super(sync, new ScreenMessageKey<>(id, snapshotCodec), initialValue, networkDirection);
+		this.updateKey = new ScreenMessageKey<>(id, createUpdateCodec(snapshotCodec, opCodec));
+	}
+
+	/**
+	 * {@return the number of elements in the working copy}
+	 * Used for deciding whether the operation log or a full snapshot is sent.
+	 */
+	protected abstract int getWorkingSize();
+
+	/**
+	 * Applies an operation to the working copy in place.
+	 *
+	 * @param op the operation
+	 */
+	protected abstract void applyToWorkingCopy(O op);
+
+	/**
+	 * Checks whether received operations can be applied to the working copy in order,
+	 * for example whether their indices are in bounds.
+	 *
+	 * @param ops the operations
+	 * @return {@code true} if all operations can be applied, {@code false} otherwise
+	 */
+	protected boolean canApplyToWorkingCopy(List<O> ops) {
+		return true;
+	}
+
+	/**
+	 * Replaces the contents of the working copy.
+	 *
+	 * @param value the new contents
+	 */
+	protected abstract void resetWorkingCopy(T value);
+
+	/**
+	 * {@return an immutable copy of the working copy}
+	 */
+	protected abstract T copyWorkingCopy();
+
+	/**
+	 * Records an operation that has been applied to the working copy.
+	 *
+	 * @param op the operation
+	 */
+	protected void recordOp(O op) {
+		if (!snapshotNeeded) {
+			ops.add(op);
+
+			if (ops.size() > getWorkingSize()) {
+				requireSnapshot();
+			}
+		}
+
+		publishPending = true;
+		dirty = true;
+	}
+
+	/**
+	 * Publishes the working copy as the value if operations have been applied to it.
+	 */
+	protected void publishWorkingCopy() {
+		if (!publishPending) return;
+		publishPending = false;
+		publishing = true;
+
+		try {
+			value.set(copyWorkingCopy());
+		} finally {
+			publishing = false;
+		}
+	}
+
+	private void requireSnapshot() {
+		snapshotNeeded = true;
+		ops.clear();
+	}
+
+	@Override
+	public ObservableProperty<T> valueProperty() {
+		publishWorkingCopy();
+		return value;
+	}
+
+	@Override
+	protected void onValueChanged(T from, T to) {
+		if (!publishing) {
+			// The whole value was replaced
+			requireSnapshot();
+			resetWorkingCopy(to);
+			publishPending = false;
+		}
+
+		super.onValueChanged(from, to);
+	}
+
+	@Override
+	public void checkAndSendUpdate() {
+		publishWorkingCopy();
+		super.checkAndSendUpdate();
+	}
+
+	@Override
+	public DataSlot<T> setChangeDetection(ChangeDetection changeDetection) {
+		if (changeDetection != ChangeDetection.EQUALS) {
+			throw new UnsupportedOperationException("Delta data slots only support ChangeDetection.EQUALS");
+		}
+
+		return super.setChangeDetection(changeDetection);
+	}
+
+	@Override
+	public void registerReceiver(ScreenNetworking networking) {
+		networking.receive(updateKey, update -> {
+			if (update.snapshot() != null) {
+				publishWorkingCopy();
+				value.set(update.snapshot());
+			} else {
+				publishWorkingCopy();
+
+				// Invalid operations would leave the working copy partially updated, so they're checked first
+				if (!canApplyToWorkingCopy(update.ops())) {
+					LOGGER.error("Received invalid operations for data slot {}", getKey().id());
+					return;
+				}
+
+				for (O op : update.ops()) {
+					applyToWorkingCopy(op);
+				}
+
+				publishPending = true;
+				publishWorkingCopy();
+			}
+		});
+	}
+
+	@Override
+	protected void sendUpdate(ScreenNetworking networking) {
+		Update<T, O> update = snapshotNeeded ? new Update<>(get(), List.of()) : new Update<>(null, ops);
+		networking.send(updateKey, update);
+	}
+
+	@Override
+	protected void onUpdateSent() {
+		super.onUpdateSent();
+		ops.clear();
+		snapshotNeeded = false;
+	}
+
+	private static <T, O> PacketCodec<RegistryByteBuf, Update<T, O>> createUpdateCodec(PacketCodec<RegistryByteBuf, T> snapshotCodec, PacketCodec<RegistryByteBuf, O> opCodec) {
+		return new PacketCodec<>() {
+			@Override
+			public Update<T, O> decode(RegistryByteBuf buf) {
+				if (buf.readBoolean()) {
+					return new Update<>(snapshotCodec.decode(buf), List.of());
+				}
+
+				int count = buf.readVarInt();
+				List<O> ops = new ArrayList<>(Math.min(count, buf.readableBytes()));
+
+				for (int i = 0; i < count; i++) {
+					ops.add(opCodec.decode(buf));
+				}
+
+				return new Update<>(null, ops);
+			}
+
+			@Override
+			public void encode(RegistryByteBuf buf, Update<T, O> update) {
+				buf.writeBoolean(update.snapshot() != null);
+
+				if (update.snapshot() != null) {
+					snapshotCodec.encode(buf, update.snapshot());
+				} else {
+					buf.writeVarInt(update.ops().size());
+
+					for (O op : update.ops()) {
+						opCodec.encode(buf, op);
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * A synced update: either a full snapshot or a list of operations.
+	 *
+	 * @param snapshot the full value, or null if this update consists of operations
+	 * @param ops      the operations to apply, empty for snapshots
+	 */
+	private record Update<T, O>(@Nullable T snapshot, List<O> ops) {
+	}
+}
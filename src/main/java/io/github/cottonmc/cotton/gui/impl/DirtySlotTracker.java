@@ -0,0 +1,186 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.InventoryChangedListener;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.screen.slot.Slot;
+
+import io.github.cottonmc.cotton.gui.ObservableInventory;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Tracks which slots of a screen handler can have changed since the last sync.
+ *
+ * <p>Slots of {@linkplain ObservableInventory observable inventories} and {@link SimpleInventory simple inventories}
+ * are only checked after their inventory reports a change. Slots of other inventories are checked every tick.
+ * All slots are checked when the slot list changes and periodically as a safety net
+ * for changes that weren't reported.
+ */
+public final class DirtySlotTracker {
+	private final List<Slot> slots;
+	private final int fullSyncInterval;
+	private final BitSet dirtySlots = new BitSet();
+	private final Map<Inventory, TrackedInventory> trackedInventories = new IdentityHashMap<>();
+	private final IntList untrackedSlots = new IntArrayList();
+	private final ObservableInventory.SlotChangeListener observableListener = this::onSlotChanged;
+	private final InventoryChangedListener simpleListener = inventory -> onSlotChanged(inventory, ObservableInventory.ALL_SLOTS);
+	private int ticksUntilFullSync = 0;
+	private int slotCount = -1;
+	private @Nullable Slot firstSlot;
+	private @Nullable Slot lastSlot;
+
+	/**
+	 * Constructs a dirty slot tracker.
+	 *
+	 * @param slots            the slot list of the screen handler
+	 * @param fullSyncInterval the interval between full checks of all slots in ticks
+	 */
+	public DirtySlotTracker(List<Slot> slots, int fullSyncInterval) {
+		this.slots = slots;
+		this.fullSyncInterval = fullSyncInterval;
+	}
+
+	private boolean isUpToDate() {
+		if (slots.size() != slotCount) return false;
+		if (slotCount == 0) return true;
+		return slots.getFirst() == firstSlot && slots.getLast() == lastSlot;
+	}
+
+	private void rebuild() {
+		detach();
+		untrackedSlots.clear();
+		slotCount = slots.size();
+		firstSlot = slots.isEmpty() ? null : slots.getFirst();
+		lastSlot = slots.isEmpty() ? null : slots.getLast();
+
+		for (int i = 0; i < slotCount; i++) {
+			Slot slot = slots.get(i);
+			Inventory inventory = slot.inventory;
+
+			if (inventory instanceof ObservableInventory || inventory instanceof SimpleInventory) {
+				TrackedInventory tracked = trackedInventories.get(inventory);
+
+				if (tracked == null) {
+					tracked = new TrackedInventory();
+					trackedInventories.put(inventory, tracked);
+					attach(inventory);
+				}
+
+				tracked.slotIds.add(i);
+				IntList slotIds = tracked.slotIdsByIndex.get(slot.getIndex());
+
+				if (slotIds == null) {
+					slotIds = new IntArrayList(1);
+					tracked.slotIdsByIndex.put(slot.getIndex(), slotIds);
+				}
+
+				slotIds.add(i);
+			} else {
+				untrackedSlots.add(i);
+			}
+		}
+	}
+
+	private void attach(Inventory inventory) {
+		if (inventory instanceof ObservableInventory observable) {
+			observable.addSlotChangeListener(observableListener);
+		} else if (inventory instanceof SimpleInventory simple) {
+			simple.addListener(simpleListener);
+		}
+	}
+
+	/**
+	 * Removes the change listeners from all tracked inventories.
+	 */
+	public void detach() {
+		for (Inventory inventory : trackedInventories.keySet()) {
+			if (inventory instanceof ObservableInventory observable) {
+				observable.removeSlotChangeListener(observableListener);
+			} else if (inventory instanceof SimpleInventory simple) {
+				simple.removeListener(simpleListener);
+			}
+		}
+
+		trackedInventories.clear();
+		slotCount = -1;
+	}
+
+	private void onSlotChanged(Inventory inventory, int index) {
+		TrackedInventory tracked = trackedInventories.get(inventory);
+		if (tracked == null) return;
+
+		IntList slotIds = index == ObservableInventory.ALL_SLOTS ? tracked.slotIds : tracked.slotIdsByIndex.get(index);
+
+		if (slotIds != null) {
+			for (int i = 0; i < slotIds.size(); i++) {
+				dirtySlots.set(slotIds.getInt(i));
+			}
+		}
+	}
+
+	/**
+	 * Forces the tracker to rebuild its slot mapping before the next sync.
+	 * This must be called when slots are removed from the middle of the slot list,
+	 * since the tracker only detects added or cleared slots by itself.
+	 */
+	public void invalidate() {
+		slotCount = -1;
+	}
+
+	/**
+	 * Marks all slots as dirty, which makes the next sync check all slots.
+	 */
+	public void markAllDirty() {
+		ticksUntilFullSync = 0;
+	}
+
+	/**
+	 * Runs an action for each slot that has to be checked in this tick and clears the dirty slots.
+	 *
+	 * @param action the action, called with slot IDs
+	 */
+	public void forEachSlotToCheck(IntConsumer action) {
+		if (!isUpToDate()) {
+			rebuild();
+			ticksUntilFullSync = 0;
+		}
+
+		if (ticksUntilFullSync <= 0) {
+			ticksUntilFullSync = fullSyncInterval;
+			dirtySlots.clear();
+
+			for (int i = 0; i < slotCount; i++) {
+				action.accept(i);
+			}
+
+			return;
+		}
+
+		ticksUntilFullSync--;
+
+		for (int i = 0; i < untrackedSlots.size(); i++) {
+			dirtySlots.set(untrackedSlots.getInt(i));
+		}
+
+		for (int i = dirtySlots.nextSetBit(0); i >= 0 && i < slotCount; i = dirtySlots.nextSetBit(i + 1)) {
+			action.accept(i);
+		}
+
+		dirtySlots.clear();
+	}
+
+	private static final class TrackedInventory {
+		final IntList slotIds = new IntArrayList();
+		final Int2ObjectMap<IntList> slotIdsByIndex = new Int2ObjectOpenHashMap<>();
+	}
+}
@@ -0,0 +1,103 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.screen.slot.Slot;
+
+import io.github.cottonmc.cotton.gui.ValidatedSlot;
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Tracks the slots that are hidden on the client, such as slots on unselected tabs.
+ *
+ * <p>The client {@linkplain #pollHiddenSlots(List) reports} the IDs of its hidden slots
+ * whenever they change. The server {@linkplain #isHidden(int) skips} the reported slots when syncing
+ * slot contents, and compares them again when they're shown.
+ */
+public final class HiddenSlotSync {
+	/**
+	 * The C2S message that reports the IDs of all hidden slots.
+	 */
+	public static final ScreenMessageKey<BitSet> MESSAGE_KEY = new ScreenMessageKey<>(
+			LibGuiCommon.id("hidden_slots"),
+			PacketCodec.<PacketByteBuf, BitSet>of((slotIds, buf) -> buf.writeBitSet(slotIds), PacketByteBuf::readBitSet)
+	);
+
+	private final BitSet hiddenSlots = new BitSet();
+	private final BitSet scratch = new BitSet();
+
+	/**
+	 * {@return whether the slot with the ID is hidden}
+	 *
+	 * @param slotId the slot ID
+	 */
+	public boolean isHidden(int slotId) {
+		return hiddenSlots.get(slotId);
+	}
+
+	/**
+	 * {@return whether any slots are hidden}
+	 */
+	public boolean hasHiddenSlots() {
+		return !hiddenSlots.isEmpty();
+	}
+
+	/**
+	 * Collects the IDs of the hidden slots on the client.
+	 *
+	 * @param slots the slot list of the screen handler
+	 * @return the IDs of the hidden slots if they changed since the last call, or null otherwise
+	 */
+	public @Nullable BitSet pollHiddenSlots(List<Slot> slots) {
+		scratch.clear();
+
+		for (int i = 0; i < slots.size(); i++) {
+			if (slots.get(i) instanceof ValidatedSlot slot && !slot.isVisible()) {
+				scratch.set(i);
+			}
+		}
+
+		if (scratch.equals(hiddenSlots)) return null;
+		hiddenSlots.clear();
+		hiddenSlots.or(scratch);
+		return (BitSet) hiddenSlots.clone();
+	}
+
+	/**
+	 * Forgets the hidden slots. This is used when slot IDs have changed.
+	 *
+	 * <p>On the client, the next {@link #pollHiddenSlots(List)} reports the hidden slots again.
+	 * On the server, all slots are synced until the next report arrives.
+	 */
+	public void reset() {
+		hiddenSlots.clear();
+	}
+
+	/**
+	 * Updates the hidden slots on the server from a client report.
+	 *
+	 * @param reported  the reported hidden slot IDs
+	 * @param slotCount the number of slots in the screen handler
+	 * @param onShown   a callback for each previously hidden slot that is now shown
+	 */
+	public void update(BitSet reported, int slotCount, IntConsumer onShown) {
+		scratch.clear();
+		scratch.or(hiddenSlots);
+
+		hiddenSlots.clear();
+		hiddenSlots.or(reported);
+		// Ignore IDs of slots that don't exist
+		if (hiddenSlots.length() > slotCount) hiddenSlots.clear(slotCount, hiddenSlots.length());
+
+		scratch.andNot(hiddenSlots);
+
+		for (int i = scratch.nextSetBit(0); i >= 0 && i < slotCount; i = scratch.nextSetBit(i + 1)) {
+			onShown.accept(i);
+		}
+	}
+}
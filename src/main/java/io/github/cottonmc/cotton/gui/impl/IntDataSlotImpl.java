@@ -0,0 +1,64 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.IntDataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.SyncPolicy;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class IntDataSlotImpl extends PrimitiveDataSlotImpl<Integer> implements IntDataSlot {
+	private final List<ChangeListener> listeners = new ArrayList<>();
+
+	public IntDataSlotImpl(DataSlotSync sync, Identifier id, int initialValue, NetworkDirection networkDirection) {
+		super(sync, id, initialValue, networkDirection);
+	}
+
+	@Override
+	public int get() {
+		return (int) getRawValue();
+	}
+
+	@Override
+	public void set(int value) {
+		setRawValue(value);
+	}
+
+	@Override
+	protected void onValueChanged(long from, long to) {
+		for (ChangeListener listener : listeners) {
+			listener.onValueChanged(this, (int) from, (int) to);
+		}
+	}
+
+	@Override
+	protected long normalize(long value) {
+		return (int) value;
+	}
+
+	@Override
+	protected Integer box(long value) {
+		return (int) value;
+	}
+
+	@Override
+	public void addChangeListener(ChangeListener listener) {
+		listeners.add(Objects.requireNonNull(listener, "listener"));
+	}
+
+	@Override
+	public IntDataSlot setPriority(SyncPriority priority) {
+		this.priority = Objects.requireNonNull(priority, "priority");
+		return this;
+	}
+
+	@Override
+	public IntDataSlot setSyncPolicy(SyncPolicy<? super Integer> syncPolicy) {
+		this.syncPolicy = Objects.requireNonNull(syncPolicy, "syncPolicy");
+		return this;
+	}
+}
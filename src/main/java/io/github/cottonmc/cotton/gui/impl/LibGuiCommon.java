@@ -1,8 +1,14 @@
 package io.github.cottonmc.cotton.gui.impl;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.util.Identifier;
 
+import io.github.cottonmc.cotton.gui.MemoizedItemFilter;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+
 public final class LibGuiCommon implements ModInitializer {
 	public static final String MOD_ID = "libgui";
 
@@ -13,5 +19,12 @@ public final class LibGuiCommon implements ModInitializer {
 	@Override
 	public void onInitialize() {
 		ScreenNetworkingImpl.init();
+		ServerTickEvents.START_SERVER_TICK.register(server -> TickCounter.tick(NetworkSide.SERVER));
+		CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> MemoizedItemFilter.invalidateAll());
+		ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> MemoizedItemFilter.invalidateAll());
+
+		if (ScreenNetworkingMetricsImpl.LOG_ON_STOP) {
+			ServerLifecycleEvents.SERVER_STOPPING.register(server -> ScreenNetworkingMetricsImpl.get(NetworkSide.SERVER).log());
+		}
 	}
 }
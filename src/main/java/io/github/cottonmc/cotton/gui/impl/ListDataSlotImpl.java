@@ -0,0 +1,182 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.ListDataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class ListDataSlotImpl<E> extends DeltaDataSlotImpl<List<E>, ListDataSlotImpl.Op<E>> implements ListDataSlot<E> {
+	private final List<E> elements;
+
+	public ListDataSlotImpl(DataSlotSync sync, Identifier id, PacketCodec<? super RegistryByteBuf, E> elementCodec, List<E> initialValue, NetworkDirection networkDirection) {
+		super(sync, id, createListCodec(elementCodec), createOpCodec(elementCodec), Collections.unmodifiableList(new ArrayList<>(initialValue)), networkDirection);
+		this.elements = new ArrayList<>(initialValue);
+	}
+
+	@Override
+	public void set(List<E> value) {
+		valueProperty().set(Collections.unmodifiableList(new ArrayList<>(value)));
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public void add(int index, E element) {
+		elements.add(index, element);
+		recordOp(new Op.Add<>(index, element));
+	}
+
+	@Override
+	public void set(int index, E element) {
+		elements.set(index, element);
+		recordOp(new Op.Set<>(index, element));
+	}
+
+	@Override
+	public E remove(int index) {
+		E removed = elements.remove(index);
+		recordOp(new Op.Remove<>(index));
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		elements.clear();
+		recordOp(new Op.Clear<>());
+	}
+
+	@Override
+	protected int getWorkingSize() {
+		return elements.size();
+	}
+
+	@Override
+	protected void applyToWorkingCopy(Op<E> op) {
+		switch (op) {
+			case Op.Add<E>(int index, E element) -> elements.add(index, element);
+			case Op.Set<E>(int index, E element) -> elements.set(index, element);
+			case Op.Remove<E>(int index) -> elements.remove(index);
+			case Op.Clear<E>() -> elements.clear();
+		}
+	}
+
+	@Override
+	protected boolean canApplyToWorkingCopy(List<Op<E>> ops) {
+		int size = elements.size();
+
+		for (Op<E> op : ops) {
+			switch (op) {
+				case Op.Add<E>(int index, E element) -> {
+					if (index < 0 || index > size) return false;
+					size++;
+				}
+				case Op.Set<E>(int index, E element) -> {
+					if (index < 0 || index >= size) return false;
+				}
+				case Op.Remove<E>(int index) -> {
+					if (index < 0 || index >= size) return false;
+					size--;
+				}
+				case Op.Clear<E>() -> size = 0;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	protected void resetWorkingCopy(List<E> value) {
+		elements.clear();
+		elements.addAll(value);
+	}
+
+	@Override
+	protected List<E> copyWorkingCopy() {
+		return Collections.unmodifiableList(new ArrayList<>(elements));
+	}
+
+	private static <E> PacketCodec<RegistryByteBuf, List<E>> createListCodec(PacketCodec<? super RegistryByteBuf, E> elementCodec) {
+		return new PacketCodec<>() {
+			@Override
+			public List<E> decode(RegistryByteBuf buf) {
+				int size = buf.readVarInt();
+				List<E> list = new ArrayList<>(Math.min(size, buf.readableBytes()));
+
+				for (int i = 0; i < size; i++) {
+					list.add(elementCodec.decode(buf));
+				}
+
+				return Collections.unmodifiableList(list);
+			}
+
+			@Override
+			public void encode(RegistryByteBuf buf, List<E> list) {
+				buf.writeVarInt(list.size());
+
+				for (E element : list) {
+					elementCodec.encode(buf, element);
+				}
+			}
+		};
+	}
+
+	private static <E> PacketCodec<RegistryByteBuf, Op<E>> createOpCodec(PacketCodec<? super RegistryByteBuf, E> elementCodec) {
+		return new PacketCodec<>() {
+			@Override
+			public Op<E> decode(RegistryByteBuf buf) {
+				int type = buf.readByte();
+				return switch (type) {
+					case 0 -> new Op.Add<>(buf.readVarInt(), elementCodec.decode(buf));
+					case 1 -> new Op.Set<>(buf.readVarInt(), elementCodec.decode(buf));
+					case 2 -> new Op.Remove<>(buf.readVarInt());
+					case 3 -> new Op.Clear<>();
+					default -> throw new IllegalArgumentException("Unknown list operation type: " + type);
+				};
+			}
+
+			@Override
+			public void encode(RegistryByteBuf buf, Op<E> op) {
+				switch (op) {
+					case Op.Add<E>(int index, E element) -> {
+						buf.writeByte(0);
+						buf.writeVarInt(index);
+						elementCodec.encode(buf, element);
+					}
+					case Op.Set<E>(int index, E element) -> {
+						buf.writeByte(1);
+						buf.writeVarInt(index);
+						elementCodec.encode(buf, element);
+					}
+					case Op.Remove<E>(int index) -> {
+						buf.writeByte(2);
+						buf.writeVarInt(index);
+					}
+					case Op.Clear<E>() -> buf.writeByte(3);
+				}
+			}
+		};
+	}
+
+	sealed interface Op<E> {
+		record Add<E>(int index, E element) implements Op<E> {
+		}
+
+		record Set<E>(int index, E element) implements Op<E> {
+		}
+
+		record Remove<E>(int index) implements Op<E> {
+		}
+
+		record Clear<E>() implements Op<E> {
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.LongDataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.SyncPolicy;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class LongDataSlotImpl extends PrimitiveDataSlotImpl<Long> implements LongDataSlot {
+	private final List<ChangeListener> listeners = new ArrayList<>();
+
+	public LongDataSlotImpl(DataSlotSync sync, Identifier id, long initialValue, NetworkDirection networkDirection) {
+		super(sync, id, initialValue, networkDirection);
+	}
+
+	@Override
+	public long get() {
+		return getRawValue();
+	}
+
+	@Override
+	public void set(long value) {
+		setRawValue(value);
+	}
+
+	@Override
+	protected void onValueChanged(long from, long to) {
+		for (ChangeListener listener : listeners) {
+			listener.onValueChanged(this, from, to);
+		}
+	}
+
+	@Override
+	protected long normalize(long value) {
+		return value;
+	}
+
+	@Override
+	protected Long box(long value) {
+		return value;
+	}
+
+	@Override
+	public void addChangeListener(ChangeListener listener) {
+		listeners.add(Objects.requireNonNull(listener, "listener"));
+	}
+
+	@Override
+	public LongDataSlot setPriority(SyncPriority priority) {
+		this.priority = Objects.requireNonNull(priority, "priority");
+		return this;
+	}
+
+	@Override
+	public LongDataSlot setSyncPolicy(SyncPolicy<? super Long> syncPolicy) {
+		this.syncPolicy = Objects.requireNonNull(syncPolicy, "syncPolicy");
+		return this;
+	}
+}
@@ -0,0 +1,151 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.MapDataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public final class MapDataSlotImpl<K, V> extends DeltaDataSlotImpl<Map<K, V>, MapDataSlotImpl.Op<K, V>> implements MapDataSlot<K, V> {
+	private final Map<K, V> entries;
+
+	public MapDataSlotImpl(DataSlotSync sync, Identifier id, PacketCodec<? super RegistryByteBuf, K> keyCodec, PacketCodec<? super RegistryByteBuf, V> valueCodec, Map<K, V> initialValue, NetworkDirection networkDirection) {
+		super(sync, id, createMapCodec(keyCodec, valueCodec), createOpCodec(keyCodec, valueCodec), Collections.unmodifiableMap(new LinkedHashMap<>(initialValue)), networkDirection);
+		this.entries = new LinkedHashMap<>(initialValue);
+	}
+
+	@Override
+	public void set(Map<K, V> value) {
+		valueProperty().set(Collections.unmodifiableMap(new LinkedHashMap<>(value)));
+	}
+
+	@Override
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public @Nullable V put(K key, V value) {
+		V previous = entries.put(key, value);
+		recordOp(new Op.Put<>(key, value));
+		return previous;
+	}
+
+	@Override
+	public @Nullable V remove(K key) {
+		if (!entries.containsKey(key)) return null;
+
+		V removed = entries.remove(key);
+		recordOp(new Op.Remove<>(key));
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		entries.clear();
+		recordOp(new Op.Clear<>());
+	}
+
+	@Override
+	protected int getWorkingSize() {
+		return entries.size();
+	}
+
+	@Override
+	protected void applyToWorkingCopy(Op<K, V> op) {
+		switch (op) {
+			case Op.Put<K, V>(K key, V value) -> entries.put(key, value);
+			case Op.Remove<K, V>(K key) -> entries.remove(key);
+			case Op.Clear<K, V>() -> entries.clear();
+		}
+	}
+
+	@Override
+	protected void resetWorkingCopy(Map<K, V> value) {
+		entries.clear();
+		entries.putAll(value);
+	}
+
+	@Override
+	protected Map<K, V> copyWorkingCopy() {
+		return Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+	}
+
+	private static <K, V> PacketCodec<RegistryByteBuf, Map<K, V>> createMapCodec(PacketCodec<? super RegistryByteBuf, K> keyCodec, PacketCodec<? super RegistryByteBuf, V> valueCodec) {
+		return new PacketCodec<>() {
+			@Override
+			public Map<K, V> decode(RegistryByteBuf buf) {
+				int size = buf.readVarInt();
+				Map<K, V> map = new LinkedHashMap<>();
+
+				for (int i = 0; i < size; i++) {
+					K key = keyCodec.decode(buf);
+					map.put(key, valueCodec.decode(buf));
+				}
+
+				return Collections.unmodifiableMap(map);
+			}
+
+			@Override
+			public void encode(RegistryByteBuf buf, Map<K, V> map) {
+				buf.writeVarInt(map.size());
+
+				for (Map.Entry<K, V> entry : map.entrySet()) {
+					keyCodec.encode(buf, entry.getKey());
+					valueCodec.encode(buf, entry.getValue());
+				}
+			}
+		};
+	}
+
+	private static <K, V> PacketCodec<RegistryByteBuf, Op<K, V>> createOpCodec(PacketCodec<? super RegistryByteBuf, K> keyCodec, PacketCodec<? super RegistryByteBuf, V> valueCodec) {
+		return new PacketCodec<>() {
+			@Override
+			public Op<K, V> decode(RegistryByteBuf buf) {
+				int type = buf.readByte();
+				return switch (type) {
+					case 0 -> {
+						K key = keyCodec.decode(buf);
+						yield new Op.Put<>(key, valueCodec.decode(buf));
+					}
+					case 1 -> new Op.Remove<>(keyCodec.decode(buf));
+					case 2 -> new Op.Clear<>();
+					default -> throw new IllegalArgumentException("Unknown map operation type: " + type);
+				};
+			}
+
+			@Override
+			public void encode(RegistryByteBuf buf, Op<K, V> op) {
+				switch (op) {
+					case Op.Put<K, V>(K key, V value) -> {
+						buf.writeByte(0);
+						keyCodec.encode(buf, key);
+						valueCodec.encode(buf, value);
+					}
+					case Op.Remove<K, V>(K key) -> {
+						buf.writeByte(1);
+						keyCodec.encode(buf, key);
+					}
+					case Op.Clear<K, V>() -> buf.writeByte(2);
+				}
+			}
+		};
+	}
+
+	sealed interface Op<K, V> {
+		record Put<K, V>(K key, V value) implements Op<K, V> {
+		}
+
+		record Remove<K, V>(K key) implements Op<K, V> {
+		}
+
+		record Clear<K, V>() implements Op<K, V> {
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketEncoder;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.networking.SyncPolicy;
+
+/**
+ * The sync logic shared by the primitive data slot types.
+ *
+ * <p>The value is stored as a {@code long}, which can hold the values of all primitive data slot types,
+ * and synced as a zigzag-encoded varlong, so small negative values are as compact as small positive ones.
+ * The value is read when the message is encoded, so sending an update doesn't box it.
+ * The encoded message is still allocated and queued like other messages,
+ * and the receiving side boxes the value while decoding it.
+ *
+ * @param <B> the boxed value type, used for {@linkplain SyncPolicy sync policy} thresholds
+ */
+public abstract class PrimitiveDataSlotImpl<B> extends BaseDataSlotImpl {
+	private final Identifier id;
+	private final PacketEncoder<RegistryByteBuf, Object> encoder = (buf, unused) -> buf.writeVarLong(toZigZag(getRawValue()));
+	protected SyncPolicy<? super B> syncPolicy = SyncPolicy.everyTick();
+	private long value;
+	// Game ticks from TickCounter, like in AbstractDataSlotImpl
+	private long lastSentTick = 0;
+	private long lastChangedTick;
+	private boolean hasSentValue = false;
+	private long lastSentValue;
+
+	protected PrimitiveDataSlotImpl(DataSlotSync sync, Identifier id, long initialValue, NetworkDirection networkDirection) {
+		super(sync, networkDirection);
+		this.id = id;
+		this.value = initialValue;
+		this.lastChangedTick = getCurrentTick();
+	}
+
+	private long getCurrentTick() {
+		return TickCounter.get(sync.getSide());
+	}
+
+	private static long toZigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long fromZigZag(long encoded) {
+		return (encoded >>> 1) ^ -(encoded & 1);
+	}
+
+	/**
+	 * {@return the current value as a {@code long}}
+	 */
+	protected final long getRawValue() {
+		return value;
+	}
+
+	/**
+	 * Sets the current value and marks this data slot dirty if it changed.
+	 *
+	 * @param value the new value, which must be {@linkplain #normalize(long) normalized}
+	 */
+	protected final void setRawValue(long value) {
+		long from = this.value;
+
+		if (from != value) {
+			this.value = value;
+			dirty = true;
+			lastChangedTick = getCurrentTick();
+			onValueChanged(from, value);
+		}
+	}
+
+	/**
+	 * Called when the value changes.
+	 *
+	 * @param from the old value
+	 * @param to   the new value
+	 */
+	protected abstract void onValueChanged(long from, long to);
+
+	/**
+	 * Converts a received value to the range of the value type.
+	 *
+	 * @param value the received value
+	 * @return the normalized value
+	 */
+	protected abstract long normalize(long value);
+
+	/**
+	 * {@return a value converted to the boxed value type}
+	 *
+	 * @param value the value
+	 */
+	protected abstract B box(long value);
+
+	public Identifier getId() {
+		return id;
+	}
+
+	public SyncPolicy<? super B> getSyncPolicy() {
+		return syncPolicy;
+	}
+
+	@Override
+	protected boolean isUpdateAllowed() {
+		if (!hasSentValue || syncPolicy == SyncPolicy.everyTick()) {
+			return true;
+		}
+
+		long tick = getCurrentTick();
+
+		if (tick - lastSentTick < syncPolicy.getMinInterval()) {
+			return false;
+		}
+
+		// Only policies with a minimum interval or a threshold box the values here
+		return tick - lastChangedTick >= SyncPolicy.SETTLE_TICKS
+			|| syncPolicy.isSignificantChange(box(lastSentValue), box(value));
+	}
+
+	@Override
+	protected void onUpdateSent() {
+		lastSentTick = getCurrentTick();
+		hasSentValue = true;
+		lastSentValue = value;
+	}
+
+	@Override
+	public void registerReceiver(ScreenNetworking networking) {
+		networking.receive(id, (RegistryByteBuf buf) -> fromZigZag(buf.readVarLong()), received -> setRawValue(normalize(received)));
+	}
+
+	@Override
+	protected void sendUpdate(ScreenNetworking networking) {
+		networking.send(id, encoder, null);
+	}
+}
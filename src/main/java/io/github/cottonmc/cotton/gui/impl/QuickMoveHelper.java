@@ -0,0 +1,159 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.slot.Slot;
+
+import io.github.cottonmc.cotton.gui.ValidatedSlot;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The shift-click item transfer logic of {@link io.github.cottonmc.cotton.gui.SyncedGuiDescription}.
+ */
+public final class QuickMoveHelper {
+	private QuickMoveHelper() {
+	}
+
+	/**
+	 * Moves the stack in a slot to the other inventory, or between the player's storage and hotbar
+	 * if there's no block inventory.
+	 *
+	 * @param index           the slot index
+	 * @param slot            the clicked slot
+	 * @param playerInventory the player inventory
+	 * @param blockInventory  the block inventory, or null if there's none
+	 * @return the original stack if anything was moved, or an empty stack otherwise
+	 */
+	public static ItemStack quickMove(SlotIndex index, Slot slot, Inventory playerInventory, @Nullable Inventory blockInventory) {
+		ItemStack result = ItemStack.EMPTY;
+
+		if (slot.hasStack()) {
+			ItemStack slotStack = slot.getStack();
+			result = slotStack.copy();
+
+			if (blockInventory!=null) {
+				if (WindowedInventory.unwrap(slot.inventory)==blockInventory) {
+					//Try to transfer the item from the block into the player's inventory
+					if (!insertItem(slotStack, index.getSlots(playerInventory), true)) {
+						return ItemStack.EMPTY;
+					}
+				} else if (!insertItem(slotStack, index.getSlots(blockInventory), false)) { //Try to transfer the item from the player to the block
+					return ItemStack.EMPTY;
+				}
+			} else {
+				//There's no block, just swap between the player's storage and their hotbar
+				if (!swapHotbar(slotStack, slot, index, playerInventory)) {
+					return ItemStack.EMPTY;
+				}
+			}
+
+			if (slotStack.isEmpty()) {
+				slot.setStack(ItemStack.EMPTY);
+			} else {
+				slot.markDirty();
+			}
+		}
+
+		return result;
+	}
+
+	/** WILL MODIFY toInsert! Returns true if anything was inserted. */
+	private static boolean insertIntoExisting(ItemStack toInsert, Slot slot) {
+		ItemStack curSlotStack = slot.getStack();
+		if (!curSlotStack.isEmpty() && ItemStack.areItemsAndComponentsEqual(toInsert, curSlotStack) && slot.canInsert(toInsert)) {
+			int combinedAmount = curSlotStack.getCount() + toInsert.getCount();
+			int maxAmount = Math.min(toInsert.getMaxCount(), slot.getMaxItemCount(toInsert));
+			if (combinedAmount <= maxAmount) {
+				toInsert.setCount(0);
+				curSlotStack.setCount(combinedAmount);
+				slot.markDirty();
+				return true;
+			} else if (curSlotStack.getCount() < maxAmount) {
+				toInsert.decrement(maxAmount - curSlotStack.getCount());
+				curSlotStack.setCount(maxAmount);
+				slot.markDirty();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** WILL MODIFY toInsert! Returns true if anything was inserted. */
+	private static boolean insertIntoEmpty(ItemStack toInsert, Slot slot) {
+		ItemStack curSlotStack = slot.getStack();
+		if (curSlotStack.isEmpty() && slot.canInsert(toInsert)) {
+			if (toInsert.getCount() > slot.getMaxItemCount(toInsert)) {
+				slot.setStack(toInsert.split(slot.getMaxItemCount(toInsert)));
+			} else {
+				slot.setStack(toInsert.split(toInsert.getCount()));
+			}
+
+			slot.markDirty();
+			return true;
+		}
+
+		return false;
+	}
+
+	/** WILL MODIFY toInsert! Returns true if anything was inserted. */
+	static boolean insertItem(ItemStack toInsert, List<Slot> inventorySlots, boolean walkBackwards) {
+		if (inventorySlots.isEmpty()) return false;
+
+		//Try to insert it on top of existing stacks
+		boolean inserted = false;
+		if (walkBackwards) {
+			for(int i=inventorySlots.size()-1; i>=0; i--) {
+				Slot curSlot = inventorySlots.get(i);
+				if (insertIntoExisting(toInsert, curSlot)) inserted = true;
+				if (toInsert.isEmpty()) break;
+			}
+		} else {
+			for(int i=0; i<inventorySlots.size(); i++) {
+				Slot curSlot = inventorySlots.get(i);
+				if (insertIntoExisting(toInsert, curSlot)) inserted = true;
+				if (toInsert.isEmpty()) break;
+			}
+		}
+
+		//If we still have any, shove them into empty slots
+		if (!toInsert.isEmpty()) {
+			if (walkBackwards) {
+				for(int i=inventorySlots.size()-1; i>=0; i--) {
+					Slot curSlot = inventorySlots.get(i);
+					if (insertIntoEmpty(toInsert, curSlot)) inserted = true;
+					if (toInsert.isEmpty()) break;
+				}
+			} else {
+				for(int i=0; i<inventorySlots.size(); i++) {
+					Slot curSlot = inventorySlots.get(i);
+					if (insertIntoEmpty(toInsert, curSlot)) inserted = true;
+					if (toInsert.isEmpty()) break;
+				}
+			}
+		}
+
+		return inserted;
+	}
+
+	/** WILL MODIFY toInsert! Returns true if anything was inserted. */
+	private static boolean swapHotbar(ItemStack toInsert, Slot clickedSlot, SlotIndex index, Inventory inventory) {
+		List<Slot> storageSlots = index.getStorageSlots(inventory);
+		List<Slot> hotbarSlots = index.getHotbarSlots(inventory);
+		if (storageSlots.isEmpty() || hotbarSlots.isEmpty()) return false;
+
+		boolean clickedStorage = WindowedInventory.unwrap(clickedSlot.inventory) == inventory
+				&& clickedSlot instanceof ValidatedSlot validated
+				&& !PlayerInventory.isValidHotbarIndex(validated.getInventoryIndex());
+
+		if (clickedStorage) {
+			//swap from storage to hotbar
+			return insertItem(toInsert, hotbarSlots, false);
+		} else {
+			//swap from hotbar to storage
+			return insertItem(toInsert, storageSlots, false);
+		}
+	}
+}
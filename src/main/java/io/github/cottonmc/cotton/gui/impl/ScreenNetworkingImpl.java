@@ -1,6 +1,5 @@
 package io.github.cottonmc.cotton.gui.impl;
 
-import com.mojang.datafixers.util.Unit;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.Decoder;
@@ -17,6 +16,9 @@ import net.minecraft.nbt.NbtSizeTracker;
 import net.minecraft.network.RegistryByteBuf;
 import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.network.codec.PacketDecoder;
+import net.minecraft.network.codec.PacketEncoder;
+import net.minecraft.network.encoding.VarInts;
 import net.minecraft.network.packet.CustomPayload;
 import net.minecraft.registry.DynamicRegistryManager;
 import net.minecraft.registry.RegistryOps;
@@ -27,28 +29,96 @@ import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
 import io.github.cottonmc.cotton.gui.networking.NetworkSide;
 import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
 import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.networking.ScreenRequestKey;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 public class ScreenNetworkingImpl implements ScreenNetworking {
 	// Matches the one used in PacketCodecs.codec() etc
 	private static final long MAX_NBT_SIZE = 0x200000L;
-	public static final ScreenMessageKey<Unit> CLIENT_READY_MESSAGE_KEY = new ScreenMessageKey<>(
+	private static final int MAX_MESSAGE_SIZE = 0x200000;
+	private static final PacketCodec<ByteBuf, byte[]> MESSAGE_DATA_CODEC = PacketCodecs.byteArray(MAX_MESSAGE_SIZE);
+	private static final PacketCodec<ByteBuf, NbtElement> NBT_CODEC = PacketCodecs.nbt(() -> NbtSizeTracker.of(MAX_NBT_SIZE));
+	// Leave room for the sync ID, the entry count and the payload ID within the vanilla custom payload limits
+	private static final int MAX_C2S_BATCH_SIZE = 0x8000 - 0x400;
+	private static final int MAX_S2C_BATCH_SIZE = 0x100000 - 0x400;
+	private static final PacketCodec<ByteBuf, List<Identifier>> MESSAGE_TABLE_CODEC = Identifier.PACKET_CODEC.collect(PacketCodecs.toList());
+
+	/**
+	 * Sent by the client when its screen is ready. Contains the client's message table:
+	 * the IDs of the messages registered on the client, indexed by their numeric message ID.
+	 */
+	public static final ScreenMessageKey<List<Identifier>> CLIENT_READY_MESSAGE_KEY = new ScreenMessageKey<>(
 		LibGuiCommon.id("client_ready"),
-		Codec.unit(Unit.INSTANCE)
+		MESSAGE_TABLE_CODEC
+	);
+
+	/**
+	 * Sent by the server in response to {@link #CLIENT_READY_MESSAGE_KEY}. Contains the server's message table.
+	 */
+	public static final ScreenMessageKey<List<Identifier>> SERVER_MESSAGE_TABLE_KEY = new ScreenMessageKey<>(
+		LibGuiCommon.id("server_message_table"),
+		MESSAGE_TABLE_CODEC
 	);
 
-	public record ScreenMessage(int syncId, Identifier message, NbtElement nbt) implements CustomPayload {
+	/**
+	 * A reference to a message type, either by its numeric ID from the receiver's
+	 * message table or by its full ID if the message has no numeric ID.
+	 *
+	 * @param index the numeric message ID, or -1 if the full ID is used
+	 * @param id    the full message ID, or null if the numeric ID is used
+	 */
+	public record MessageRef(int index, @Nullable Identifier id) {
+		public static final PacketCodec<ByteBuf, MessageRef> CODEC = new PacketCodec<>() {
+			@Override
+			public MessageRef decode(ByteBuf buf) {
+				int index = VarInts.read(buf) - 1;
+				return index >= 0 ? new MessageRef(index, null) : new MessageRef(-1, Identifier.PACKET_CODEC.decode(buf));
+			}
+
+			@Override
+			public void encode(ByteBuf buf, MessageRef ref) {
+				VarInts.write(buf, ref.index() + 1);
+
+				if (ref.id() != null) {
+					Identifier.PACKET_CODEC.encode(buf, ref.id());
+				}
+			}
+		};
+
+		@Override
+		public String toString() {
+			return id != null ? id.toString() : "#" + index;
+		}
+	}
+
+	/**
+	 * A single screen message. The data is encoded either as NBT (for {@link Codec}-based messages)
+	 * or directly with a {@link PacketCodec}, depending on how the receiver was registered.
+	 */
+	public record ScreenMessage(int syncId, MessageRef message, byte[] data) implements CustomPayload {
 		public static final Id<ScreenMessage> ID = new Id<>(LibGuiCommon.id("screen_message"));
 		public static final PacketCodec<RegistryByteBuf, ScreenMessage> CODEC = PacketCodec.tuple(
 			PacketCodecs.INTEGER, ScreenMessage::syncId,
-			Identifier.PACKET_CODEC, ScreenMessage::message,
-			PacketCodecs.nbt(() -> NbtSizeTracker.of(MAX_NBT_SIZE)), ScreenMessage::nbt,
+			MessageRef.CODEC, ScreenMessage::message,
+			MESSAGE_DATA_CODEC, ScreenMessage::data,
 			ScreenMessage::new
 		);
 
@@ -58,30 +128,140 @@ public class ScreenNetworkingImpl implements ScreenNetworking {
 		}
 	}
 
+	/**
+	 * A batch of screen messages for the same screen handler, sent as a single payload.
+	 * The entries are handled in order on the receiving side.
+	 */
+	public record ScreenMessageBatch(int syncId, List<BatchEntry> entries) implements CustomPayload {
+		public static final Id<ScreenMessageBatch> ID = new Id<>(LibGuiCommon.id("screen_message_batch"));
+		public static final PacketCodec<RegistryByteBuf, ScreenMessageBatch> CODEC = PacketCodec.tuple(
+			PacketCodecs.INTEGER, ScreenMessageBatch::syncId,
+			BatchEntry.CODEC.collect(PacketCodecs.toList()), ScreenMessageBatch::entries,
+			ScreenMessageBatch::new
+		);
+
+		@Override
+		public Id<? extends CustomPayload> getId() {
+			return ID;
+		}
+	}
+
+	public record BatchEntry(MessageRef message, byte[] data) {
+		public static final PacketCodec<RegistryByteBuf, BatchEntry> CODEC = PacketCodec.tuple(
+			MessageRef.CODEC, BatchEntry::message,
+			MESSAGE_DATA_CODEC, BatchEntry::data,
+			BatchEntry::new
+		);
+	}
+
 	private static final Logger LOGGER = LoggerFactory.getLogger(ScreenNetworkingImpl.class);
+	// Setting this property to a positive number sets the default tick byte budget.
+	private static final String TICK_BYTE_BUDGET_PROPERTY = "libgui.tickByteBudget";
+	private static final int DEFAULT_TICK_BYTE_BUDGET = Math.max(Integer.getInteger(TICK_BYTE_BUDGET_PROPERTY, 0), 0);
 
-	private final Map<Identifier, ReceiverData<?>> receivers = new HashMap<>();
-	private final SyncedGuiDescription description;
+	private final Map<Identifier, ReceiverData<?>> receivers = new LinkedHashMap<>();
+	private ReceiverData<?>[] indexedReceivers = new ReceiverData<?>[0];
+	private final Object2IntMap<Identifier> outgoingIndices = new Object2IntOpenHashMap<>();
+	private final Connection connection;
 	private final NetworkSide side;
 	private final Event<ReadyListener> readyEvent;
 	private boolean ready = false;
+	private @Nullable List<BatchEntry> batch = null;
+	private @Nullable RegistryOps<NbtElement> registryOps = null;
+	private @Nullable RegistryByteBuf encodingBuf = null;
+	private int tickByteBudget = DEFAULT_TICK_BYTE_BUDGET;
+	private int bytesSentThisTick = 0;
+	private long currentTick = -1;
+	private SyncPriority sendingPriority = SyncPriority.HIGH;
+	private boolean deferred = false;
+	private long deferredUpdateCount = 0;
+	private long deferredByteCount = 0;
+	private final @Nullable ScreenRequestManager requests;
+	private final @Nullable ScreenStreamManager streams;
+	private final @Nullable ScreenNetworkingMetricsImpl metrics;
+	private @Nullable Executor mainThreadExecutor = null;
 
 	public ScreenNetworkingImpl(SyncedGuiDescription description, NetworkSide side) {
-		this.description = description;
+		this(new DescriptionConnection(description), side);
+	}
+
+	/**
+	 * Creates a networking handler for a custom connection, such as an in-memory loopback.
+	 *
+	 * @param connection the connection
+	 * @param side       the network side of this handler
+	 */
+	public ScreenNetworkingImpl(Connection connection, NetworkSide side) {
+		this.connection = connection;
 		this.side = side;
+		this.metrics = side != null ? ScreenNetworkingMetricsImpl.get(side) : null;
 		this.readyEvent = EventFactory.createArrayBacked(ReadyListener.class, listeners -> screenNetworking -> {
 			for (ReadyListener listener : listeners) {
 				listener.onConnected(screenNetworking);
 			}
 		});
 
+		outgoingIndices.defaultReturnValue(-1);
+
 		if (side == NetworkSide.SERVER) {
-			receive(CLIENT_READY_MESSAGE_KEY, data -> markReady());
+			receive(CLIENT_READY_MESSAGE_KEY, clientTable -> {
+				setOutgoingTable(clientTable);
+				send(SERVER_MESSAGE_TABLE_KEY, freezeMessageTable());
+				markReady();
+			});
+		} else if (side == NetworkSide.CLIENT) {
+			receive(SERVER_MESSAGE_TABLE_KEY, this::setOutgoingTable);
+		}
+
+		// Registered before the screen's own messages so that it always gets a numeric ID.
+		requests = side != null ? new ScreenRequestManager(this) : null;
+		streams = side != null ? new ScreenStreamManager(this) : null;
+	}
+
+	/**
+	 * Assigns numeric IDs to all receivers registered so far.
+	 * Receivers registered later can only be addressed by their full IDs.
+	 *
+	 * @return the message table, with the message IDs at their numeric ID indices
+	 */
+	private List<Identifier> freezeMessageTable() {
+		List<Identifier> table = new ArrayList<>(receivers.keySet());
+		indexedReceivers = receivers.values().toArray(new ReceiverData<?>[0]);
+		return table;
+	}
+
+	/**
+	 * Sets the message table of the other side, which is used for sending numeric message IDs.
+	 *
+	 * @param table the message table of the receiving side
+	 */
+	private void setOutgoingTable(List<Identifier> table) {
+		outgoingIndices.clear();
+
+		for (int i = 0; i < table.size(); i++) {
+			outgoingIndices.put(table.get(i), i);
 		}
 	}
 
-	private static RegistryOps<NbtElement> getRegistryOps(DynamicRegistryManager registryManager) {
-		return registryManager.getOps(NbtOps.INSTANCE);
+	/**
+	 * Sends the {@linkplain #CLIENT_READY_MESSAGE_KEY client ready message} and marks this handler as ready.
+	 */
+	public void sendClientReady() {
+		List<Identifier> table = freezeMessageTable();
+		markReady();
+		send(CLIENT_READY_MESSAGE_KEY, table);
+	}
+
+	DynamicRegistryManager getRegistryManager() {
+		return connection.getRegistryManager();
+	}
+
+	private RegistryOps<NbtElement> getRegistryOps() {
+		if (registryOps == null) {
+			registryOps = getRegistryManager().getOps(NbtOps.INSTANCE);
+		}
+
+		return registryOps;
 	}
 
 	@Override
@@ -89,9 +269,20 @@ public class ScreenNetworkingImpl implements ScreenNetworking {
 		Objects.requireNonNull(message, "message");
 		Objects.requireNonNull(decoder, "decoder");
 		Objects.requireNonNull(receiver, "receiver");
+		registerReceiver(message, buf -> decoder.parse(getRegistryOps(), NBT_CODEC.decode(buf)), receiver);
+	}
 
+	@Override
+	public <D> void receive(Identifier message, PacketDecoder<? super RegistryByteBuf, D> decoder, MessageReceiver<D> receiver) {
+		Objects.requireNonNull(message, "message");
+		Objects.requireNonNull(decoder, "decoder");
+		Objects.requireNonNull(receiver, "receiver");
+		registerReceiver(message, buf -> DataResult.success(decoder.decode(buf)), receiver);
+	}
+
+	private <D> void registerReceiver(Identifier message, MessageDecoder<D> decoder, MessageReceiver<D> receiver) {
 		if (!receivers.containsKey(message)) {
-			receivers.put(message, new ReceiverData<>(decoder, receiver));
+			receivers.put(message, new ReceiverData<>(message, decoder, receiver));
 		} else {
 			throw new IllegalStateException("Message " + message + " on side " + side + " already registered");
 		}
@@ -102,10 +293,264 @@ public class ScreenNetworkingImpl implements ScreenNetworking {
 		Objects.requireNonNull(message, "message");
 		Objects.requireNonNull(encoder, "encoder");
 
-		var ops = getRegistryOps(description.getWorld().getRegistryManager());
-		NbtElement encoded = encoder.encodeStart(ops, data).getOrThrow();
-		ScreenMessage packet = new ScreenMessage(description.syncId, message, encoded);
-		description.getPacketSender().sendPacket(packet);
+		NbtElement encoded = encoder.encodeStart(getRegistryOps(), data).getOrThrow();
+		sendEncoded(message, encode(buf -> NBT_CODEC.encode(buf, encoded)));
+	}
+
+	@Override
+	public <D> void send(Identifier message, PacketEncoder<? super RegistryByteBuf, D> encoder, D data) {
+		Objects.requireNonNull(message, "message");
+		Objects.requireNonNull(encoder, "encoder");
+		sendEncoded(message, encode(buf -> encoder.encode(buf, data)));
+	}
+
+	@Override
+	public <D> void sendStreamed(Identifier message, Encoder<D> encoder, D data) {
+		Objects.requireNonNull(message, "message");
+		Objects.requireNonNull(encoder, "encoder");
+
+		NbtElement encoded = encoder.encodeStart(getRegistryOps(), data).getOrThrow();
+		Objects.requireNonNull(streams).send(message, encode(buf -> NBT_CODEC.encode(buf, encoded)));
+	}
+
+	@Override
+	public <D> void sendStreamed(Identifier message, PacketEncoder<? super RegistryByteBuf, D> encoder, D data) {
+		Objects.requireNonNull(message, "message");
+		Objects.requireNonNull(encoder, "encoder");
+		Objects.requireNonNull(streams).send(message, encode(buf -> encoder.encode(buf, data)));
+	}
+
+	@Override
+	public void addTransferListener(Identifier message, TransferListener listener) {
+		Objects.requireNonNull(message, "message");
+		Objects.requireNonNull(listener, "listener");
+		Objects.requireNonNull(streams).addListener(message, listener);
+	}
+
+	/**
+	 * Sends the next chunks of {@linkplain #sendStreamed(Identifier, PacketEncoder, Object) streamed messages}.
+	 * The chunks are not batched.
+	 */
+	public void sendStreamChunks() {
+		if (streams != null) {
+			streams.sendChunks();
+		}
+	}
+
+	private byte[] encode(Consumer<RegistryByteBuf> writer) {
+		if (encodingBuf == null) {
+			encodingBuf = new RegistryByteBuf(Unpooled.buffer(), getRegistryManager());
+		}
+
+		RegistryByteBuf buf = encodingBuf;
+		buf.clear();
+		writer.accept(buf);
+		return ByteBufUtil.getBytes(buf);
+	}
+
+	/**
+	 * Encodes a message without sending it.
+	 *
+	 * @see #sendEncoded(Identifier, byte[])
+	 */
+	<D> byte[] encodeMessage(ScreenMessageKey<D> key, D data) {
+		if (key.packetCodec() != null) {
+			return encode(buf -> key.packetCodec().encode(buf, data));
+		}
+
+		NbtElement encoded = key.codec().encodeStart(getRegistryOps(), data).getOrThrow();
+		return encode(buf -> NBT_CODEC.encode(buf, encoded));
+	}
+
+	void sendEncoded(Identifier id, byte[] data) {
+		// The first message of each tick is always sent, so that messages larger than the budget still make progress
+		if (sendingPriority != SyncPriority.HIGH && tickByteBudget > 0 && bytesSentThisTick > 0 && bytesSentThisTick + data.length > tickByteBudget) {
+			deferred = true;
+			deferredUpdateCount++;
+			deferredByteCount += data.length;
+			return;
+		}
+
+		bytesSentThisTick += data.length;
+		if (metrics != null) metrics.recordSent(id, data.length);
+		int index = outgoingIndices.getInt(id);
+		MessageRef message = index >= 0 ? new MessageRef(index, null) : new MessageRef(-1, id);
+
+		if (batch != null) {
+			batch.add(new BatchEntry(message, data));
+		} else {
+			connection.sendPacket(new ScreenMessage(connection.getSyncId(), message, data));
+		}
+	}
+
+	/**
+	 * Runs a sender with a sync priority. If the sender's messages exceed the
+	 * {@linkplain #getTickByteBudget() tick byte budget} and the priority isn't {@link SyncPriority#HIGH},
+	 * the messages are dropped and this method returns {@code false}. The caller should retry on a later tick.
+	 *
+	 * @param priority the sync priority
+	 * @param sender   the sender that sends the messages
+	 * @return {@code true} if the messages were sent, {@code false} if they were deferred
+	 */
+	public boolean sendWithPriority(SyncPriority priority, Runnable sender) {
+		SyncPriority previousPriority = sendingPriority;
+		sendingPriority = priority;
+		deferred = false;
+
+		try {
+			sender.run();
+		} finally {
+			sendingPriority = previousPriority;
+		}
+
+		return !deferred;
+	}
+
+	/**
+	 * Starts a new tick for the purposes of the {@linkplain #getTickByteBudget() tick byte budget}
+	 * and request timeouts. Calls with the current tick do nothing, so this can be called
+	 * several times per game tick.
+	 *
+	 * @param tick the current game tick, see {@link TickCounter}
+	 */
+	public void startTick(long tick) {
+		if (tick == currentTick) return;
+
+		currentTick = tick;
+		bytesSentThisTick = 0;
+
+		if (requests != null) {
+			requests.tick();
+		}
+	}
+
+	/**
+	 * {@return the game tick last passed to {@link #startTick(long)}}
+	 */
+	long getCurrentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * Closes this networking handler, cancelling all pending requests.
+	 */
+	public void close() {
+		if (requests != null) {
+			requests.close();
+		}
+
+		if (streams != null) {
+			streams.close();
+		}
+	}
+
+	/**
+	 * {@return the executor for the main thread of this side}
+	 * Before any messages have been received, this executor runs tasks directly.
+	 */
+	Executor getMainThreadExecutor() {
+		return mainThreadExecutor != null ? mainThreadExecutor : Runnable::run;
+	}
+
+	@Override
+	public <Q, R> CompletableFuture<R> request(ScreenRequestKey<Q, R> key, Q request) {
+		return request(key, request, ScreenRequestManager.DEFAULT_TIMEOUT);
+	}
+
+	@Override
+	public <Q, R> CompletableFuture<R> request(ScreenRequestKey<Q, R> key, Q request, Duration timeout) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(timeout, "timeout");
+		return Objects.requireNonNull(requests).request(key, request, timeout);
+	}
+
+	@Override
+	public <Q, R> void respond(ScreenRequestKey<Q, R> key, RequestHandler<Q, R> handler) {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(handler, "handler");
+		Objects.requireNonNull(requests).respond(key, handler);
+	}
+
+	@Override
+	public int getTickByteBudget() {
+		return tickByteBudget;
+	}
+
+	@Override
+	public void setTickByteBudget(int budget) {
+		if (budget < 0) throw new IllegalArgumentException("Tick byte budget cannot be negative: " + budget);
+		this.tickByteBudget = budget;
+	}
+
+	@Override
+	public long getDeferredUpdateCount() {
+		return deferredUpdateCount;
+	}
+
+	@Override
+	public long getDeferredByteCount() {
+		return deferredByteCount;
+	}
+
+	/**
+	 * Starts collecting sent messages into a batch instead of sending them immediately.
+	 * The batch is sent with {@link #flushBatch()}.
+	 *
+	 * @throws IllegalStateException if a batch has already been started
+	 */
+	public void beginBatch() {
+		if (batch != null) {
+			throw new IllegalStateException("Batch already started for " + connection + " on side " + side);
+		}
+
+		batch = new ArrayList<>();
+	}
+
+	/**
+	 * Sends all messages collected since {@link #beginBatch()} and stops batching.
+	 *
+	 * <p>The messages are split into batches that fit in a single custom payload
+	 * (just under 32 KiB from the client and 1 MiB from the server).
+	 * A single message that doesn't share its batch with others is sent as a plain {@link ScreenMessage}.
+	 */
+	public void flushBatch() {
+		List<BatchEntry> entries = batch;
+		batch = null;
+		if (entries == null || entries.isEmpty()) return;
+
+		int maxSize = side == NetworkSide.CLIENT ? MAX_C2S_BATCH_SIZE : MAX_S2C_BATCH_SIZE;
+		int start = 0;
+		int size = 0;
+
+		for (int i = 0; i < entries.size(); i++) {
+			int entrySize = getEncodedSize(entries.get(i));
+
+			if (i > start && size + entrySize > maxSize) {
+				sendBatch(entries.subList(start, i));
+				start = i;
+				size = 0;
+			}
+
+			size += entrySize;
+		}
+
+		sendBatch(entries.subList(start, entries.size()));
+	}
+
+	private void sendBatch(List<BatchEntry> entries) {
+		if (entries.size() == 1) {
+			BatchEntry entry = entries.getFirst();
+			connection.sendPacket(new ScreenMessage(connection.getSyncId(), entry.message(), entry.data()));
+		} else {
+			connection.sendPacket(new ScreenMessageBatch(connection.getSyncId(), List.copyOf(entries)));
+		}
+	}
+
+	private static int getEncodedSize(BatchEntry entry) {
+		MessageRef message = entry.message();
+		// Upper bound: VarInts are at most 5 bytes, and identifiers are encoded as a VarInt length and UTF-8
+		int refSize = message.id() != null ? 10 + 3 * message.id().toString().length() : VarInts.getSizeInBytes(message.index() + 1);
+		return refSize + VarInts.getSizeInBytes(entry.data().length) + entry.data().length;
 	}
 
 	@Override
@@ -125,58 +570,178 @@ public class ScreenNetworkingImpl implements ScreenNetworking {
 	public static void init() {
 		PayloadTypeRegistry.playS2C().register(ScreenMessage.ID, ScreenMessage.CODEC);
 		PayloadTypeRegistry.playC2S().register(ScreenMessage.ID, ScreenMessage.CODEC);
+		PayloadTypeRegistry.playS2C().register(ScreenMessageBatch.ID, ScreenMessageBatch.CODEC);
+		PayloadTypeRegistry.playC2S().register(ScreenMessageBatch.ID, ScreenMessageBatch.CODEC);
 		ServerPlayNetworking.registerGlobalReceiver(ScreenMessage.ID, (payload, context) -> {
 			handle(context.server(), context.player(), payload);
 		});
+		ServerPlayNetworking.registerGlobalReceiver(ScreenMessageBatch.ID, (payload, context) -> {
+			handleBatch(context.server(), context.player(), payload);
+		});
 	}
 
-	public static void handle(Executor executor, PlayerEntity player, ScreenMessage packet) {
+	private static @Nullable ScreenNetworkingImpl getReceivingNetworking(PlayerEntity player, int syncId) {
 		ScreenHandler screenHandler = player.currentScreenHandler;
 
 		if (!(screenHandler instanceof SyncedGuiDescription guiDescription)) {
 			LOGGER.error("Received message packet for screen handler {} which is not a SyncedGuiDescription", screenHandler);
-			return;
-		} else if (packet.syncId() != screenHandler.syncId) {
-			LOGGER.error("Received message for sync ID {}, current sync ID: {}", packet.syncId(), screenHandler.syncId);
-			return;
+			return null;
+		} else if (syncId != screenHandler.syncId) {
+			LOGGER.error("Received message for sync ID {}, current sync ID: {}", syncId, screenHandler.syncId);
+			return null;
+		}
+
+		return (ScreenNetworkingImpl) guiDescription.getNetworking(guiDescription.getNetworkSide());
+	}
+
+	public static void handle(Executor executor, PlayerEntity player, ScreenMessage packet) {
+		ScreenNetworkingImpl networking = getReceivingNetworking(player, packet.syncId());
+		if (networking != null) {
+			networking.handlePacket(executor, packet);
+		}
+	}
+
+	public static void handleBatch(Executor executor, PlayerEntity player, ScreenMessageBatch packet) {
+		ScreenNetworkingImpl networking = getReceivingNetworking(player, packet.syncId());
+		if (networking != null) {
+			networking.handlePacket(executor, packet);
+		}
+	}
+
+	/**
+	 * Handles a packet received by this networking handler.
+	 *
+	 * @param executor the executor of the main thread
+	 * @param packet   the packet, a {@link ScreenMessage} or a {@link ScreenMessageBatch}
+	 * @throws IllegalArgumentException if the packet is not a screen message packet
+	 */
+	public void handlePacket(Executor executor, CustomPayload packet) {
+		switch (packet) {
+			case ScreenMessage message -> handleMessage(executor, message.message(), message.data());
+			case ScreenMessageBatch batch -> {
+				for (BatchEntry entry : batch.entries()) {
+					handleMessage(executor, entry.message(), entry.data());
+				}
+			}
+			default -> throw new IllegalArgumentException("Not a screen message packet: " + packet);
+		}
+	}
+
+	/**
+	 * Handles a fully received streamed message. Must be called on the main thread.
+	 */
+	void handleStreamedMessage(Identifier message, byte[] data) {
+		handleMessage(getMainThreadExecutor(), new MessageRef(-1, message), data);
+	}
+
+	private void handleMessage(Executor executor, MessageRef message, byte[] data) {
+		mainThreadExecutor = executor;
+		ReceiverData<?> receiverData;
+
+		if (message.id() != null) {
+			receiverData = receivers.get(message.id());
+		} else {
+			receiverData = message.index() < indexedReceivers.length ? indexedReceivers[message.index()] : null;
 		}
 
-		var networking = (ScreenNetworkingImpl) guiDescription.getNetworking(guiDescription.getNetworkSide());
-		ReceiverData<?> receiverData = networking.receivers.get(packet.message());
 		if (receiverData != null) {
-			processMessage(executor, player, packet, screenHandler, receiverData);
+			if (metrics != null) metrics.recordReceived(receiverData.id(), data.length);
+			processMessage(executor, data, receiverData);
 		} else {
-			LOGGER.error("Message {} not registered for {} on side {}", packet.message(), screenHandler, networking.side);
+			LOGGER.error("Message {} not registered for {} on side {}", message, connection, side);
 		}
 	}
 
-	private static <D> void processMessage(Executor executor, PlayerEntity player, ScreenMessage packet, ScreenHandler description, ReceiverData<D> receiverData) {
-		var ops = getRegistryOps(player.getRegistryManager());
-		var result = receiverData.decoder().parse(ops, packet.nbt());
+	private <D> void processMessage(Executor executor, byte[] bytes, ReceiverData<D> receiverData) {
+		Identifier message = receiverData.id();
+		var buf = new RegistryByteBuf(Unpooled.wrappedBuffer(bytes), getRegistryManager());
+		DataResult<D> result;
+
+		try {
+			result = receiverData.decoder().decode(buf);
+		} catch (Exception e) {
+			result = DataResult.error(e::toString);
+		}
 
 		switch (result) {
 			case DataResult.Success(D data, Lifecycle lifecycle) -> executor.execute(() -> {
+				long start = System.nanoTime();
+
 				try {
 					receiverData.receiver().onMessage(data);
 				} catch (Exception e) {
-					LOGGER.error("Error handling screen message {} for {}", packet.message(), description, e);
+					LOGGER.error("Error handling screen message {} for {}", message, connection, e);
+				} finally {
+					if (metrics != null) metrics.recordHandlerTime(message, System.nanoTime() - start);
 				}
 			});
 
-			case DataResult.Error<D> error -> LOGGER.error(
-				"Could not parse screen message {}: {}",
-				packet.message(),
-				error.message()
-			);
+			case DataResult.Error<D> error -> {
+				if (metrics != null) metrics.recordDecodeFailure(message);
+				LOGGER.error(
+					"Could not parse screen message {}: {}",
+					message,
+					error.message()
+				);
+			}
+		}
+	}
+
+	/**
+	 * The connection of a networking handler to the other side.
+	 */
+	public interface Connection {
+		/**
+		 * {@return the sync ID of the screen handler}
+		 */
+		int getSyncId();
+
+		/**
+		 * {@return the registry manager used for encoding and decoding messages}
+		 */
+		DynamicRegistryManager getRegistryManager();
+
+		/**
+		 * Sends a packet to the other side.
+		 *
+		 * @param packet the packet
+		 */
+		void sendPacket(CustomPayload packet);
+	}
+
+	private record DescriptionConnection(SyncedGuiDescription description) implements Connection {
+		@Override
+		public int getSyncId() {
+			return description.syncId;
+		}
+
+		@Override
+		public DynamicRegistryManager getRegistryManager() {
+			return description.getWorld().getRegistryManager();
+		}
+
+		@Override
+		public void sendPacket(CustomPayload packet) {
+			description.getPacketSender().sendPacket(packet);
 		}
+
+		@Override
+		public String toString() {
+			return description.toString();
+		}
+	}
+
+	@FunctionalInterface
+	private interface MessageDecoder<D> {
+		DataResult<D> decode(RegistryByteBuf buf);
 	}
 
-	private record ReceiverData<D>(Decoder<D> decoder, MessageReceiver<D> receiver) {
+	private record ReceiverData<D>(Identifier id, MessageDecoder<D> decoder, MessageReceiver<D> receiver) {
 	}
 
 	public static final class DummyNetworking extends ScreenNetworkingImpl {
 		public DummyNetworking() {
-			super(null, null);
+			super((Connection) null, null);
 		}
 
 		@Override
@@ -184,9 +749,44 @@ public class ScreenNetworkingImpl implements ScreenNetworking {
 			// NO-OP
 		}
 
+		@Override
+		public <D> void receive(Identifier message, PacketDecoder<? super RegistryByteBuf, D> decoder, MessageReceiver<D> receiver) {
+			// NO-OP
+		}
+
 		@Override
 		public <D> void send(Identifier message, Encoder<D> encoder, D data) {
 			// NO-OP
 		}
+
+		@Override
+		public <D> void send(Identifier message, PacketEncoder<? super RegistryByteBuf, D> encoder, D data) {
+			// NO-OP
+		}
+
+		@Override
+		public <D> void sendStreamed(Identifier message, Encoder<D> encoder, D data) {
+			// NO-OP
+		}
+
+		@Override
+		public <D> void sendStreamed(Identifier message, PacketEncoder<? super RegistryByteBuf, D> encoder, D data) {
+			// NO-OP
+		}
+
+		@Override
+		public void addTransferListener(Identifier message, TransferListener listener) {
+			// NO-OP
+		}
+
+		@Override
+		public <Q, R> CompletableFuture<R> request(ScreenRequestKey<Q, R> key, Q request, Duration timeout) {
+			return CompletableFuture.failedFuture(new IllegalStateException("Cannot send requests from an inactive network side"));
+		}
+
+		@Override
+		public <Q, R> void respond(ScreenRequestKey<Q, R> key, RequestHandler<Q, R> handler) {
+			// NO-OP
+		}
 	}
 }
@@ -0,0 +1,186 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworkingMetrics;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class ScreenNetworkingMetricsImpl implements ScreenNetworkingMetrics {
+	// Setting this property to true logs the metrics when the game or server stops.
+	public static final boolean LOG_ON_STOP = Boolean.getBoolean("libgui.logNetworkMetrics");
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScreenNetworkingMetricsImpl.class);
+	private static final ScreenNetworkingMetricsImpl CLIENT = new ScreenNetworkingMetricsImpl(NetworkSide.CLIENT);
+	private static final ScreenNetworkingMetricsImpl SERVER = new ScreenNetworkingMetricsImpl(NetworkSide.SERVER);
+
+	private final NetworkSide side;
+	private final Map<Identifier, Counters> counters = new ConcurrentHashMap<>();
+
+	private ScreenNetworkingMetricsImpl(NetworkSide side) {
+		this.side = side;
+	}
+
+	public static ScreenNetworkingMetricsImpl get(NetworkSide side) {
+		return switch (side) {
+			case CLIENT -> CLIENT;
+			case SERVER -> SERVER;
+		};
+	}
+
+	private Counters getCounters(Identifier message) {
+		return counters.computeIfAbsent(message, id -> new Counters());
+	}
+
+	void recordSent(Identifier message, int bytes) {
+		Counters c = getCounters(message);
+		c.messagesSent.increment();
+		c.bytesSent.add(bytes);
+	}
+
+	void recordReceived(Identifier message, int bytes) {
+		Counters c = getCounters(message);
+		c.messagesReceived.increment();
+		c.bytesReceived.add(bytes);
+	}
+
+	void recordDecodeFailure(Identifier message) {
+		getCounters(message).decodeFailures.increment();
+	}
+
+	void recordHandlerTime(Identifier message, long nanos) {
+		Counters c = getCounters(message);
+		c.handlerNanos.add(nanos);
+		int bucket = 0;
+
+		while (bucket < HANDLER_TIME_BUCKET_LIMITS.size() && nanos >= HANDLER_TIME_BUCKET_LIMITS.get(bucket)) {
+			bucket++;
+		}
+
+		c.handlerTimeHistogram[bucket].increment();
+	}
+
+	@Override
+	public Map<Identifier, MessageMetrics> getAll() {
+		Map<Identifier, MessageMetrics> result = new TreeMap<>();
+		counters.forEach((id, c) -> result.put(id, c.snapshot()));
+		return result;
+	}
+
+	@Override
+	public @Nullable MessageMetrics get(Identifier message) {
+		Counters c = counters.get(message);
+		return c != null ? c.snapshot() : null;
+	}
+
+	@Override
+	public void reset() {
+		counters.clear();
+	}
+
+	@Override
+	public void log() {
+		Map<Identifier, MessageMetrics> all = getAll();
+
+		if (all.isEmpty()) {
+			LOGGER.info("No screen messages on side {}", side);
+			return;
+		}
+
+		var builder = new StringBuilder("Screen networking metrics on side ").append(side).append(':');
+		all.entrySet()
+			.stream()
+			.sorted(Comparator.comparingLong((Map.Entry<Identifier, MessageMetrics> entry) -> entry.getValue().getBytesSent() + entry.getValue().getBytesReceived()).reversed())
+			.forEach(entry -> {
+				MessageMetrics m = entry.getValue();
+				builder.append("\n  ").append(entry.getKey())
+					.append(": sent ").append(m.getMessagesSent()).append(" (").append(m.getBytesSent()).append(" B)")
+					.append(", received ").append(m.getMessagesReceived()).append(" (").append(m.getBytesReceived()).append(" B)")
+					.append(", decode failures ").append(m.getDecodeFailures())
+					.append(", handler time ").append(m.getHandlerTimeNanos() / 1000).append(" µs")
+					.append(' ').append(Arrays.toString(m.getHandlerTimeHistogram()));
+			});
+		LOGGER.info("{}", builder);
+	}
+
+	private static final class Counters {
+		final LongAdder messagesSent = new LongAdder();
+		final LongAdder bytesSent = new LongAdder();
+		final LongAdder messagesReceived = new LongAdder();
+		final LongAdder bytesReceived = new LongAdder();
+		final LongAdder decodeFailures = new LongAdder();
+		final LongAdder handlerNanos = new LongAdder();
+		final LongAdder[] handlerTimeHistogram = new LongAdder[HANDLER_TIME_BUCKET_LIMITS.size() + 1];
+
+		Counters() {
+			Arrays.setAll(handlerTimeHistogram, i -> new LongAdder());
+		}
+
+		MessageMetrics snapshot() {
+			long[] histogram = new long[handlerTimeHistogram.length];
+			Arrays.setAll(histogram, i -> handlerTimeHistogram[i].sum());
+			return new Snapshot(
+				messagesSent.sum(),
+				bytesSent.sum(),
+				messagesReceived.sum(),
+				bytesReceived.sum(),
+				decodeFailures.sum(),
+				handlerNanos.sum(),
+				histogram
+			);
+		}
+	}
+
+	private record Snapshot(
+		long messagesSent,
+		long bytesSent,
+		long messagesReceived,
+		long bytesReceived,
+		long decodeFailures,
+		long handlerNanos,
+		long[] histogram
+	) implements MessageMetrics {
+		@Override
+		public long getMessagesSent() {
+			return messagesSent;
+		}
+
+		@Override
+		public long getBytesSent() {
+			return bytesSent;
+		}
+
+		@Override
+		public long getMessagesReceived() {
+			return messagesReceived;
+		}
+
+		@Override
+		public long getBytesReceived() {
+			return bytesReceived;
+		}
+
+		@Override
+		public long getDecodeFailures() {
+			return decodeFailures;
+		}
+
+		@Override
+		public long getHandlerTimeNanos() {
+			return handlerNanos;
+		}
+
+		@Override
+		public long[] getHandlerTimeHistogram() {
+			return histogram.clone();
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.registry.DynamicRegistryManager;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.networking.ScreenRequestKey;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handles request/response messages for a {@link ScreenNetworkingImpl}.
+ *
+ * <p>Requests are sent as normal messages with the request key's ID, prefixed with a request ID.
+ * All responses use a single {@linkplain #RESPONSE_MESSAGE response message} that contains
+ * the request ID and either the encoded response or an error message.
+ */
+final class ScreenRequestManager {
+	static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+	private static final Identifier RESPONSE_MESSAGE = LibGuiCommon.id("response");
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScreenRequestManager.class);
+
+	private final ScreenNetworkingImpl networking;
+	private final Int2ObjectMap<PendingRequest<?>> pendingRequests = new Int2ObjectOpenHashMap<>();
+	private int nextRequestId = 0;
+	private boolean closed = false;
+
+	ScreenRequestManager(ScreenNetworkingImpl networking) {
+		this.networking = networking;
+		networking.receive(RESPONSE_MESSAGE, ScreenRequestManager::readResponse, this::onResponse);
+	}
+
+	<Q, R> CompletableFuture<R> request(ScreenRequestKey<Q, R> key, Q request, Duration timeout) {
+		if (closed) {
+			return CompletableFuture.failedFuture(new IllegalStateException("Cannot send request " + key.id() + " for a closed screen"));
+		}
+
+		int requestId = nextRequestId++;
+		CompletableFuture<R> future = new CompletableFuture<>();
+		pendingRequests.put(requestId, new PendingRequest<>(key, future, System.nanoTime() + timeout.toNanos()));
+		networking.send(key.id(), (RegistryByteBuf buf, Q data) -> {
+			buf.writeVarInt(requestId);
+			key.requestCodec().encode(buf, data);
+		}, request);
+		return future;
+	}
+
+	<Q, R> void respond(ScreenRequestKey<Q, R> key, ScreenNetworking.RequestHandler<Q, R> handler) {
+		networking.receive(
+			key.id(),
+			(RegistryByteBuf buf) -> new IncomingRequest<>(buf.readVarInt(), key.requestCodec().decode(buf)),
+			request -> handleRequest(key, handler, request)
+		);
+	}
+
+	private <Q, R> void handleRequest(ScreenRequestKey<Q, R> key, ScreenNetworking.RequestHandler<Q, R> handler, IncomingRequest<Q> request) {
+		CompletableFuture<R> future;
+
+		try {
+			future = handler.handle(request.data());
+		} catch (Exception e) {
+			future = CompletableFuture.failedFuture(e);
+		}
+
+		if (future == null) {
+			future = CompletableFuture.failedFuture(new NullPointerException("Handler for screen request " + key.id() + " returned null"));
+		}
+
+		int requestId = request.requestId();
+
+		if (future.isDone()) {
+			// Already on the main thread, so the response can be sent directly
+			future.whenComplete((response, error) -> sendResponse(key, requestId, response, error));
+		} else {
+			future.whenCompleteAsync(
+				(response, error) -> sendResponse(key, requestId, response, error),
+				networking.getMainThreadExecutor()
+			);
+		}
+	}
+
+	private <R> void sendResponse(ScreenRequestKey<?, R> key, int requestId, @Nullable R response, @Nullable Throwable error) {
+		if (closed) return;
+
+		if (error == null) {
+			try {
+				networking.send(RESPONSE_MESSAGE, (RegistryByteBuf buf, R data) -> {
+					buf.writeVarInt(requestId);
+					buf.writeBoolean(true);
+					key.responseCodec().encode(buf, data);
+				}, response);
+				return;
+			} catch (Exception e) {
+				error = e;
+			}
+		}
+
+		if (error instanceof CompletionException && error.getCause() != null) {
+			error = error.getCause();
+		}
+
+		LOGGER.error("Error handling screen request {}", key.id(), error);
+		networking.send(RESPONSE_MESSAGE, (RegistryByteBuf buf, String message) -> {
+			buf.writeVarInt(requestId);
+			buf.writeBoolean(false);
+			buf.writeString(message);
+		}, String.valueOf(error.getMessage()));
+	}
+
+	private static Response readResponse(RegistryByteBuf buf) {
+		int requestId = buf.readVarInt();
+
+		if (buf.readBoolean()) {
+			return new Response(requestId, ByteBufUtil.getBytes(buf), null);
+		} else {
+			return new Response(requestId, null, buf.readString());
+		}
+	}
+
+	private void onResponse(Response response) {
+		PendingRequest<?> request = pendingRequests.remove(response.requestId());
+
+		if (request == null) {
+			// Timed out or the screen was closed
+			return;
+		}
+
+		request.complete(response, networking.getRegistryManager());
+	}
+
+	/**
+	 * Completes all requests that have timed out.
+	 */
+	void tick() {
+		if (pendingRequests.isEmpty()) return;
+
+		long now = System.nanoTime();
+		List<PendingRequest<?>> timedOut = new ArrayList<>();
+
+		for (Iterator<PendingRequest<?>> iter = pendingRequests.values().iterator(); iter.hasNext();) {
+			PendingRequest<?> request = iter.next();
+
+			if (now - request.deadline() > 0) {
+				iter.remove();
+				timedOut.add(request);
+			}
+		}
+
+		for (PendingRequest<?> request : timedOut) {
+			request.future().completeExceptionally(new TimeoutException("Screen request " + request.key().id() + " timed out"));
+		}
+	}
+
+	/**
+	 * Cancels all pending requests and stops sending responses.
+	 */
+	void close() {
+		closed = true;
+		List<PendingRequest<?>> requests = new ArrayList<>(pendingRequests.values());
+		pendingRequests.clear();
+
+		for (PendingRequest<?> request : requests) {
+			request.future().cancel(false);
+		}
+	}
+
+	private record IncomingRequest<Q>(int requestId, Q data) {
+	}
+
+	private record Response(int requestId, byte @Nullable [] data, @Nullable String error) {
+	}
+
+	private record PendingRequest<R>(ScreenRequestKey<?, R> key, CompletableFuture<R> future, long deadline) {
+		void complete(Response response, DynamicRegistryManager registryManager) {
+			if (response.data() == null) {
+				future.completeExceptionally(new IllegalStateException("Screen request " + key.id() + " failed: " + response.error()));
+				return;
+			}
+
+			try {
+				var buf = new RegistryByteBuf(Unpooled.wrappedBuffer(response.data()), registryManager);
+				future.complete(key.responseCodec().decode(buf));
+			} catch (Exception e) {
+				future.completeExceptionally(e);
+			}
+		}
+	}
+}
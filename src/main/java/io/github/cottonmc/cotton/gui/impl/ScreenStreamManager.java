@@ -0,0 +1,368 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.networking.SyncPriority;
+import io.netty.buffer.ByteBufUtil;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Handles streamed messages for a {@link ScreenNetworkingImpl}.
+ *
+ * <p>A streamed message is sent as a {@linkplain #START_MESSAGE start message}
+ * followed by {@linkplain #CHUNK_MESSAGE chunk messages} containing the (possibly deflated) message data.
+ * Once all chunks have arrived, the message is handled like a normal message.
+ *
+ * <p>Incoming transfers are limited to {@value #MAX_OPEN_TRANSFERS} at a time, and their combined declared
+ * size to {@value #MAX_RESERVED_BYTES} bytes. The declared size of a compressed transfer includes both the payload
+ * and the decompressed data, and the decompressed size is limited to {@value #MAX_COMPRESSION_RATIO} times the payload.
+ * Transfers exceeding the limits are rejected. The receive and decompression buffers grow as data arrives
+ * instead of being allocated for the declared size up front.
+ */
+final class ScreenStreamManager {
+	static final int MAX_STREAM_SIZE = 0x4000000;
+	// Small enough to fit in a single C2S custom payload
+	private static final int CHUNK_SIZE = 0x4000;
+	private static final int MAX_CHUNKS_PER_TICK = 8;
+	// Streams are sent one after another, so a well-behaved sender only has one open transfer
+	private static final int MAX_OPEN_TRANSFERS = 4;
+	// Room for the payload and the decompressed data of one stream of the maximum size
+	private static final int MAX_RESERVED_BYTES = 2 * MAX_STREAM_SIZE;
+	// The maximum compression ratio of deflate is about 1032:1
+	private static final int MAX_COMPRESSION_RATIO = 1032;
+	private static final int COMPRESSION_THRESHOLD = 256;
+	private static final Identifier START_MESSAGE = LibGuiCommon.id("stream_start");
+	private static final Identifier CHUNK_MESSAGE = LibGuiCommon.id("stream_chunk");
+	private static final Logger LOGGER = LoggerFactory.getLogger(ScreenStreamManager.class);
+
+	private final ScreenNetworkingImpl networking;
+	private final Queue<OutgoingTransfer> outgoing = new ArrayDeque<>();
+	private final Int2ObjectMap<IncomingTransfer> incoming = new Int2ObjectOpenHashMap<>();
+	private final Map<Identifier, List<ScreenNetworking.TransferListener>> listeners = new HashMap<>();
+	private int nextTransferId = 0;
+	private int reservedBytes = 0;
+	private int lastRejectedTransfer = -1;
+	private long chunkTick = -1;
+	private int chunksThisTick = 0;
+
+	ScreenStreamManager(ScreenNetworkingImpl networking) {
+		this.networking = networking;
+		networking.receive(START_MESSAGE, StartData::read, this::onStart);
+		networking.receive(CHUNK_MESSAGE, ChunkData::read, this::onChunk);
+	}
+
+	void send(Identifier message, byte[] data) {
+		if (data.length > MAX_STREAM_SIZE) {
+			throw new IllegalArgumentException("Streamed message " + message + " is too large (" + data.length + " > " + MAX_STREAM_SIZE + " bytes)");
+		}
+
+		byte[] payload = data;
+		boolean compressed = false;
+
+		if (data.length >= COMPRESSION_THRESHOLD) {
+			byte[] deflated = deflate(data);
+
+			if (deflated.length < data.length) {
+				payload = deflated;
+				compressed = true;
+			}
+		}
+
+		outgoing.add(new OutgoingTransfer(new StartData(nextTransferId++, message, compressed, payload.length, data.length), payload));
+	}
+
+	void addListener(Identifier message, ScreenNetworking.TransferListener listener) {
+		listeners.computeIfAbsent(message, id -> new ArrayList<>()).add(listener);
+	}
+
+	/**
+	 * Sends the next chunks of the queued streamed messages.
+	 *
+	 * <p>The first chunk of each tick is sent regardless of the tick byte budget, so streams always make progress
+	 * even if the budget is smaller than a chunk or used up by data slots. Further chunks are sent with
+	 * {@linkplain SyncPriority#LOW low priority}, so they respect the budget.
+	 * At most {@value #MAX_CHUNKS_PER_TICK} chunks are sent per tick.
+	 */
+	void sendChunks() {
+		long tick = networking.getCurrentTick();
+
+		if (tick != chunkTick) {
+			chunkTick = tick;
+			chunksThisTick = 0;
+		}
+
+		while (chunksThisTick < MAX_CHUNKS_PER_TICK && !outgoing.isEmpty()) {
+			OutgoingTransfer transfer = outgoing.peek();
+			SyncPriority priority = chunksThisTick == 0 ? SyncPriority.HIGH : SyncPriority.LOW;
+
+			if (!transfer.started) {
+				if (!networking.sendWithPriority(priority, () -> networking.send(START_MESSAGE, StartData::write, transfer.start))) {
+					return;
+				}
+
+				transfer.started = true;
+			}
+
+			int length = Math.min(CHUNK_SIZE, transfer.payload.length - transfer.offset);
+			var chunk = new ChunkData(transfer.start.transferId(), transfer.nextChunk, Arrays.copyOfRange(transfer.payload, transfer.offset, transfer.offset + length));
+
+			if (!networking.sendWithPriority(priority, () -> networking.send(CHUNK_MESSAGE, ChunkData::write, chunk))) {
+				return;
+			}
+
+			transfer.offset += length;
+			transfer.nextChunk++;
+			chunksThisTick++;
+
+			if (transfer.offset >= transfer.payload.length) {
+				outgoing.remove();
+			}
+		}
+	}
+
+	private void onStart(StartData start) {
+		if (start.payloadLength() < 0 || start.payloadLength() > MAX_STREAM_SIZE || start.dataLength() < 0 || start.dataLength() > MAX_STREAM_SIZE
+				|| (start.compressed() && start.dataLength() > (long) start.payloadLength() * MAX_COMPRESSION_RATIO)) {
+			LOGGER.error("Invalid streamed message {}: {} bytes, {} bytes uncompressed", start.message(), start.payloadLength(), start.dataLength());
+			return;
+		}
+
+		// A repeated transfer ID replaces the previous transfer
+		removeIncoming(start.transferId());
+
+		if (incoming.size() >= MAX_OPEN_TRANSFERS || start.getReservedSize() > (long) MAX_RESERVED_BYTES - reservedBytes) {
+			LOGGER.error(
+				"Rejected streamed message {} ({} bytes): too many open transfers ({}) or reserved bytes ({})",
+				start.message(), start.getReservedSize(), incoming.size(), reservedBytes
+			);
+			lastRejectedTransfer = start.transferId();
+			return;
+		}
+
+		IncomingTransfer transfer = new IncomingTransfer(start);
+		incoming.put(start.transferId(), transfer);
+		reservedBytes += (int) start.getReservedSize();
+		notifyListeners(start.message(), 0, start.payloadLength());
+
+		if (start.payloadLength() == 0) {
+			removeIncoming(start.transferId());
+			complete(transfer);
+		}
+	}
+
+	private void onChunk(ChunkData chunk) {
+		IncomingTransfer transfer = incoming.get(chunk.transferId());
+
+		if (transfer == null) {
+			if (chunk.transferId() != lastRejectedTransfer) {
+				LOGGER.error("Received chunk for unknown stream {}", chunk.transferId());
+			}
+
+			return;
+		}
+
+		StartData start = transfer.start;
+
+		if (chunk.index() != transfer.nextChunk || transfer.received + chunk.data().length > start.payloadLength()) {
+			LOGGER.error("Received out-of-order or oversized chunk {} for streamed message {}", chunk.index(), start.message());
+			removeIncoming(chunk.transferId());
+			return;
+		}
+
+		transfer.append(chunk.data());
+		notifyListeners(start.message(), transfer.received, start.payloadLength());
+
+		if (transfer.received == start.payloadLength()) {
+			removeIncoming(chunk.transferId());
+			complete(transfer);
+		}
+	}
+
+	private void removeIncoming(int transferId) {
+		IncomingTransfer transfer = incoming.remove(transferId);
+
+		if (transfer != null) {
+			reservedBytes -= (int) transfer.start.getReservedSize();
+		}
+	}
+
+	private void complete(IncomingTransfer transfer) {
+		StartData start = transfer.start;
+		byte[] data = transfer.payload;
+
+		if (start.compressed()) {
+			try {
+				data = inflate(data, start.dataLength());
+			} catch (DataFormatException e) {
+				LOGGER.error("Could not decompress streamed message {}", start.message(), e);
+				return;
+			}
+		}
+
+		networking.handleStreamedMessage(start.message(), data);
+	}
+
+	private void notifyListeners(Identifier message, int receivedBytes, int totalBytes) {
+		List<ScreenNetworking.TransferListener> messageListeners = listeners.get(message);
+		if (messageListeners == null) return;
+
+		for (ScreenNetworking.TransferListener listener : messageListeners) {
+			try {
+				listener.onProgress(receivedBytes, totalBytes);
+			} catch (Exception e) {
+				LOGGER.error("Error in transfer listener for streamed message {}", message, e);
+			}
+		}
+	}
+
+	/**
+	 * Drops all queued and partially received streams.
+	 */
+	void close() {
+		outgoing.clear();
+		incoming.clear();
+		reservedBytes = 0;
+	}
+
+	private static byte[] deflate(byte[] data) {
+		var deflater = new Deflater();
+
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+			var out = new ByteArrayOutputStream(data.length / 2);
+			byte[] buffer = new byte[CHUNK_SIZE];
+
+			while (!deflater.finished()) {
+				int length = deflater.deflate(buffer);
+				out.write(buffer, 0, length);
+			}
+
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] data, int length) throws DataFormatException {
+		var inflater = new Inflater();
+
+		try {
+			inflater.setInput(data);
+			// The declared length is only an upper bound, so the buffer grows with the actual output
+			byte[] result = new byte[Math.min(length, Math.max(data.length * 2, CHUNK_SIZE))];
+			int offset = 0;
+
+			while (!inflater.finished()) {
+				if (offset == result.length) {
+					if (offset == length) break;
+					result = Arrays.copyOf(result, (int) Math.min((long) result.length * 2, length));
+				}
+
+				int read = inflater.inflate(result, offset, result.length - offset);
+
+				if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+
+				offset += read;
+			}
+
+			if (offset != length || !inflater.finished()) {
+				throw new DataFormatException("Decompressed size does not match, expected " + length + " bytes");
+			}
+
+			return result;
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private record StartData(int transferId, Identifier message, boolean compressed, int payloadLength, int dataLength) {
+		/**
+		 * {@return the number of bytes reserved for receiving and decompressing this transfer}
+		 */
+		long getReservedSize() {
+			return compressed ? (long) payloadLength + dataLength : payloadLength;
+		}
+
+		static StartData read(RegistryByteBuf buf) {
+			return new StartData(buf.readVarInt(), buf.readIdentifier(), buf.readBoolean(), buf.readVarInt(), buf.readVarInt());
+		}
+
+		static void write(RegistryByteBuf buf, StartData data) {
+			buf.writeVarInt(data.transferId);
+			buf.writeIdentifier(data.message);
+			buf.writeBoolean(data.compressed);
+			buf.writeVarInt(data.payloadLength);
+			buf.writeVarInt(data.dataLength);
+		}
+	}
+
+	private record ChunkData(int transferId, int index, byte[] data) {
+		static ChunkData read(RegistryByteBuf buf) {
+			return new ChunkData(buf.readVarInt(), buf.readVarInt(), ByteBufUtil.getBytes(buf));
+		}
+
+		static void write(RegistryByteBuf buf, ChunkData data) {
+			buf.writeVarInt(data.transferId);
+			buf.writeVarInt(data.index);
+			buf.writeBytes(data.data);
+		}
+	}
+
+	private static final class OutgoingTransfer {
+		final StartData start;
+		final byte[] payload;
+		boolean started = false;
+		int offset = 0;
+		int nextChunk = 0;
+
+		OutgoingTransfer(StartData start, byte[] payload) {
+			this.start = start;
+			this.payload = payload;
+		}
+	}
+
+	private static final class IncomingTransfer {
+		final StartData start;
+		byte[] payload;
+		int received = 0;
+		int nextChunk = 0;
+
+		IncomingTransfer(StartData start) {
+			this.start = start;
+			this.payload = new byte[Math.min(start.payloadLength(), CHUNK_SIZE)];
+		}
+
+		void append(byte[] data) {
+			int needed = received + data.length;
+
+			if (needed > payload.length) {
+				// Doubling keeps the number of copies logarithmic; the declared length is the upper bound
+				payload = Arrays.copyOf(payload, Math.min(Math.max(needed, payload.length * 2), start.payloadLength()));
+			}
+
+			System.arraycopy(data, 0, payload, received, data.length);
+			received = needed;
+			nextChunk++;
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import io.github.cottonmc.cotton.gui.networking.ChangeDetection;
+import io.github.cottonmc.cotton.gui.networking.DataSlot;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+
+/**
+ * A server-side S2C data slot that mirrors a {@link SharedDataSlotSourceImpl}
+ * and sends its cached encoded value.
+ */
+public final class SharedDataSlotImpl<T> extends AbstractDataSlotImpl<T> {
+	private final SharedDataSlotSourceImpl<T> source;
+	private int seenVersion = -1;
+
+	public SharedDataSlotImpl(DataSlotSync sync, ScreenMessageKey<T> key, T initialValue, SharedDataSlotSourceImpl<T> source) {
+		super(sync, key, initialValue, NetworkDirection.SERVER_TO_CLIENT);
+		this.source = source;
+	}
+
+	@Override
+	public DataSlot<T> setChangeDetection(ChangeDetection changeDetection) {
+		if (changeDetection != ChangeDetection.EQUALS) {
+			throw new UnsupportedOperationException("Shared data slots only support ChangeDetection.EQUALS");
+		}
+
+		return super.setChangeDetection(changeDetection);
+	}
+
+	@Override
+	public void checkAndSendUpdate() {
+		if (seenVersion != source.getVersion()) {
+			seenVersion = source.getVersion();
+			set(source.get());
+		}
+
+		super.checkAndSendUpdate();
+	}
+
+	@Override
+	public void registerReceiver(ScreenNetworking networking) {
+		// Shared data slots only exist on the server, which doesn't receive S2C messages.
+	}
+
+	@Override
+	protected void sendUpdate(ScreenNetworking networking) {
+		var networkingImpl = (ScreenNetworkingImpl) networking;
+		T current = get();
+
+		if (current == source.get()) {
+			networkingImpl.sendEncoded(getKey().id(), source.encode(getKey(), networkingImpl));
+		} else {
+			// The value was changed directly, so it can't use the shared encoding
+			networking.send(getKey(), current);
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import io.github.cottonmc.cotton.gui.networking.SharedDataSlotSource;
+import org.jetbrains.annotations.Nullable;
+
+public final class SharedDataSlotSourceImpl<T> implements SharedDataSlotSource<T> {
+	private T value;
+	private int version = 0;
+	private @Nullable ScreenMessageKey<T> encodedKey = null;
+	private int encodedVersion = -1;
+	private byte @Nullable [] encoded = null;
+
+	public SharedDataSlotSourceImpl(T value) {
+		this.value = value;
+	}
+
+	@Override
+	public T get() {
+		return value;
+	}
+
+	@Override
+	public void set(T value) {
+		this.value = value;
+		version++;
+	}
+
+	/**
+	 * {@return the version of the value, which is increased on each change}
+	 */
+	int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Encodes the current value, reusing the previous result if the value and the key haven't changed.
+	 */
+	byte[] encode(ScreenMessageKey<T> key, ScreenNetworkingImpl networking) {
+		if (encoded == null || encodedVersion != version || !key.equals(encodedKey)) {
+			encoded = networking.encodeMessage(key, value);
+			encodedKey = key;
+			encodedVersion = version;
+		}
+
+		return encoded;
+	}
+}
@@ -0,0 +1,99 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.screen.slot.Slot;
+
+import io.github.cottonmc.cotton.gui.ValidatedSlot;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the slots of a screen handler by their inventory.
+ *
+ * <p>The hotbar and storage partitions only contain {@link ValidatedSlot}s, which know their inventory index.
+ * Slots of {@linkplain WindowedInventory windowed inventories} are indexed by their backing inventory.
+ * The index is tied to the exact slot list it was built from: use {@link #isValidFor(List)} to check
+ * whether the slots have been changed since.
+ */
+public final class SlotIndex {
+	private final Map<Inventory, List<Slot>> slotsByInventory = new IdentityHashMap<>();
+	private final Map<Inventory, List<Slot>> hotbarSlotsByInventory = new IdentityHashMap<>();
+	private final Map<Inventory, List<Slot>> storageSlotsByInventory = new IdentityHashMap<>();
+	private final int size;
+	private final @Nullable Slot firstSlot;
+	private final @Nullable Slot lastSlot;
+
+	private SlotIndex(List<Slot> slots) {
+		this.size = slots.size();
+		this.firstSlot = slots.isEmpty() ? null : slots.getFirst();
+		this.lastSlot = slots.isEmpty() ? null : slots.getLast();
+
+		for (Slot slot : slots) {
+			// Windowed slots are indexed by their backing inventory
+			Inventory inventory = WindowedInventory.unwrap(slot.inventory);
+			slotsByInventory.computeIfAbsent(inventory, inv -> new ArrayList<>()).add(slot);
+
+			if (slot instanceof ValidatedSlot validated) {
+				var partition = PlayerInventory.isValidHotbarIndex(validated.getInventoryIndex()) ? hotbarSlotsByInventory : storageSlotsByInventory;
+				partition.computeIfAbsent(inventory, inv -> new ArrayList<>()).add(slot);
+			}
+		}
+	}
+
+	/**
+	 * Builds an index of slots.
+	 *
+	 * @param slots the slots in slot ID order
+	 * @return the index
+	 */
+	public static SlotIndex build(List<Slot> slots) {
+		return new SlotIndex(slots);
+	}
+
+	/**
+	 * Checks whether this index matches a slot list. Vanilla screen handlers only add slots or clear them all,
+	 * so checking the size and the first and last slots is enough for those changes. Slots removed
+	 * from the middle of the list, like the ones replaced during root panel revalidation, are not detected:
+	 * the owner of the index must discard it when it removes such slots.
+	 *
+	 * @param slots the slot list
+	 * @return {@code true} if the index is still valid, {@code false} otherwise
+	 */
+	public boolean isValidFor(List<Slot> slots) {
+		if (slots.size() != size) return false;
+		if (size == 0) return true;
+		return slots.getFirst() == firstSlot && slots.getLast() == lastSlot;
+	}
+
+	/**
+	 * {@return the slots of an inventory in slot ID order}
+	 *
+	 * @param inventory the inventory
+	 */
+	public List<Slot> getSlots(Inventory inventory) {
+		return slotsByInventory.getOrDefault(inventory, List.of());
+	}
+
+	/**
+	 * {@return the validated slots of an inventory with a hotbar index}
+	 *
+	 * @param inventory the inventory
+	 */
+	public List<Slot> getHotbarSlots(Inventory inventory) {
+		return hotbarSlotsByInventory.getOrDefault(inventory, List.of());
+	}
+
+	/**
+	 * {@return the validated slots of an inventory without a hotbar index}
+	 *
+	 * @param inventory the inventory
+	 */
+	public List<Slot> getStorageSlots(Inventory inventory) {
+		return storageSlotsByInventory.getOrDefault(inventory, List.of());
+	}
+}
@@ -0,0 +1,78 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.component.Component;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks whether item stacks are fully equal to a reference stack without comparing
+ * their components deeply every time.
+ *
+ * <p>The fingerprint consists of the item, the count and the component values of the last matching stack.
+ * Component values are immutable, so a stack with the same item, count and component value instances
+ * is always equal to the reference stack. Only stacks that differ from the fingerprint,
+ * for example because a component was replaced, are compared with {@link ItemStack#areEqual(ItemStack, ItemStack)}.
+ */
+public final class StackFingerprint {
+	private final ItemStack reference;
+	private Item item;
+	private int count;
+	private final List<Object> componentValues = new ArrayList<>();
+
+	/**
+	 * Constructs a stack fingerprint.
+	 *
+	 * @param reference the reference stack, which must not be mutated afterwards
+	 */
+	public StackFingerprint(ItemStack reference) {
+		this.reference = reference;
+		update(reference);
+	}
+
+	private void update(ItemStack stack) {
+		item = stack.getItem();
+		count = stack.getCount();
+		componentValues.clear();
+
+		for (Component<?> component : stack.getComponents()) {
+			componentValues.add(component.type());
+			componentValues.add(component.value());
+		}
+	}
+
+	private boolean matchesFingerprint(ItemStack stack) {
+		if (stack.getItem() != item || stack.getCount() != count) return false;
+
+		int i = 0;
+		int size = componentValues.size();
+
+		for (Component<?> component : stack.getComponents()) {
+			if (i + 1 >= size) return false;
+			if (componentValues.get(i) != component.type() || componentValues.get(i + 1) != component.value()) return false;
+			i += 2;
+		}
+
+		return i == size;
+	}
+
+	/**
+	 * Tests whether a stack is fully equal to the reference stack.
+	 *
+	 * @param stack the tested stack
+	 * @return {@code true} if the stacks are equal, {@code false} otherwise
+	 */
+	public boolean matches(ItemStack stack) {
+		if (matchesFingerprint(stack)) return true;
+
+		if (ItemStack.areEqual(reference, stack)) {
+			// Equal, but with different component instances; remember them for the next checks
+			update(stack);
+			return true;
+		}
+
+		return false;
+	}
+}
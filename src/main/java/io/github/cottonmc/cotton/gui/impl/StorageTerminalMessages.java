@@ -0,0 +1,137 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import io.github.cottonmc.cotton.gui.widget.WStorageTerminal;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.DecoderException;
+
+import java.util.List;
+
+/**
+ * The messages of {@linkplain WStorageTerminal storage terminals}.
+ *
+ * <p>Each terminal has its own message keys derived from its ID.
+ */
+public final class StorageTerminalMessages {
+	private static final int MAX_SEARCH_LENGTH = 256;
+
+	/**
+	 * The maximum number of row updates in a single message, which limits the window size of terminals.
+	 */
+	public static final int MAX_ROW_UPDATES = 4096;
+
+	private StorageTerminalMessages() {
+	}
+
+	private static <E extends Enum<E>> PacketCodec<ByteBuf, E> enumCodec(E[] values) {
+		return PacketCodecs.VAR_INT.xmap(index -> {
+			if (index < 0 || index >= values.length) {
+				throw new DecoderException("Enum index out of bounds: " + index);
+			}
+
+			return values[index];
+		}, Enum::ordinal);
+	}
+
+	/**
+	 * The message keys of a storage terminal.
+	 *
+	 * @param query  the C2S message that changes the query
+	 * @param rows   the S2C message that updates the visible entries
+	 * @param action the C2S message that extracts or inserts items
+	 */
+	public record Keys(ScreenMessageKey<Query> query, ScreenMessageKey<Rows> rows, ScreenMessageKey<Action> action) {
+		public static Keys of(Identifier id) {
+			return new Keys(
+					new ScreenMessageKey<>(id.withSuffixedPath("/query"), Query.CODEC),
+					new ScreenMessageKey<>(id.withSuffixedPath("/rows"), Rows.CODEC),
+					new ScreenMessageKey<>(id.withSuffixedPath("/action"), Action.CODEC)
+			);
+		}
+	}
+
+	/**
+	 * The query state of a terminal.
+	 *
+	 * @param search  the search text
+	 * @param sortKey the sort key
+	 * @param offset  the index of the first visible entry
+	 */
+	public record Query(String search, WStorageTerminal.SortKey sortKey, int offset) {
+		public static final Query DEFAULT = new Query("", WStorageTerminal.SortKey.NAME, 0);
+		public static final PacketCodec<RegistryByteBuf, Query> CODEC = PacketCodec.tuple(
+				PacketCodecs.string(MAX_SEARCH_LENGTH), Query::search,
+				enumCodec(WStorageTerminal.SortKey.values()), Query::sortKey,
+				PacketCodecs.VAR_INT, Query::offset,
+				Query::new
+		);
+	}
+
+	/**
+	 * A changed visible entry.
+	 *
+	 * @param position the position of the entry in the visible window
+	 * @param key      the key stack, or an empty stack if there's no entry at the position
+	 * @param amount   the amount
+	 */
+	public record RowUpdate(int position, ItemStack key, long amount) {
+		public static final PacketCodec<RegistryByteBuf, RowUpdate> CODEC = PacketCodec.tuple(
+				PacketCodecs.VAR_INT, RowUpdate::position,
+				ItemStack.OPTIONAL_PACKET_CODEC, RowUpdate::key,
+				PacketCodecs.VAR_LONG, RowUpdate::amount,
+				RowUpdate::new
+		);
+	}
+
+	/**
+	 * The changes to the visible entries since the last update.
+	 *
+	 * @param totalEntries the total number of entries matching the query
+	 * @param offset       the index of the first visible entry
+	 * @param updates      the changed entries
+	 */
+	public record Rows(int totalEntries, int offset, List<RowUpdate> updates) {
+		public static final PacketCodec<RegistryByteBuf, Rows> CODEC = PacketCodec.tuple(
+				PacketCodecs.VAR_INT, Rows::totalEntries,
+				PacketCodecs.VAR_INT, Rows::offset,
+				RowUpdate.CODEC.collect(PacketCodecs.toList(MAX_ROW_UPDATES)), Rows::updates,
+				Rows::new
+		);
+	}
+
+	/**
+	 * The types of item transfers between the terminal and the player.
+	 */
+	public enum ActionType {
+		/** Takes a full stack to the cursor. */
+		TAKE_STACK,
+		/** Takes half a stack to the cursor. */
+		TAKE_HALF,
+		/** Takes a full stack to the player inventory. */
+		TAKE_TO_INVENTORY,
+		/** Inserts the cursor stack. */
+		INSERT,
+	}
+
+	/**
+	 * An item transfer between the terminal and the player.
+	 *
+	 * @param type     the transfer type
+	 * @param position the position of the clicked entry in the visible window
+	 * @param key      the key stack of the clicked entry, or an empty stack
+	 */
+	public record Action(ActionType type, int position, ItemStack key) {
+		public static final PacketCodec<RegistryByteBuf, Action> CODEC = PacketCodec.tuple(
+				enumCodec(ActionType.values()), Action::type,
+				PacketCodecs.VAR_INT, Action::position,
+				ItemStack.OPTIONAL_PACKET_CODEC, Action::key,
+				Action::new
+		);
+	}
+}
@@ -0,0 +1,295 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.component.ComponentChanges;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+
+import io.github.cottonmc.cotton.gui.StorageTerminalProvider;
+import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import io.github.cottonmc.cotton.gui.widget.WStorageTerminal;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The server side of a {@linkplain WStorageTerminal storage terminal}.
+ *
+ * <p>The session runs the client's query against the provider, and keeps the sorted results.
+ * At the end of each tick, the visible window of the results is compared with the entries
+ * last sent to the client, and only the changed positions are sent.
+ * Queries are rerun when the client changes them or when the provider's contents change,
+ * but at most every {@value #REFRESH_INTERVAL} ticks. Actions only update the amount of the affected entry
+ * in the current results, so the window can be updated right away without rerunning the query.
+ */
+public final class StorageTerminalSession {
+	private static final int REFRESH_INTERVAL = 10;
+	private static final Comparator<Result> BY_NAME = Comparator.comparing(Result::name);
+	private static final Comparator<Result> BY_AMOUNT = Comparator.comparingLong(Result::amount).reversed().thenComparing(BY_NAME);
+	private static final Comparator<Result> BY_ID = Comparator.comparingInt(Result::rawId).thenComparing(BY_NAME);
+
+	private final SyncedGuiDescription description;
+	private final StorageTerminalProvider provider;
+	private final StorageTerminalMessages.Keys keys;
+	private final int columns;
+	// The entries last sent to the client by window position; null for positions without entries
+	private final StorageTerminalProvider.Entry[] sentEntries;
+	private final Runnable tickTask = this::tick;
+	private StorageTerminalMessages.Query query = StorageTerminalMessages.Query.DEFAULT;
+	private List<Result> results = List.of();
+	// The indices of the results by item type, rebuilt when results are removed
+	private final Map<ResultKey, Integer> resultIndices = new HashMap<>();
+	private boolean resultIndicesValid = true;
+	private long resultsVersion;
+	private boolean queryChanged = true;
+	private boolean windowChanged = true;
+	private int ticksSinceQuery = REFRESH_INTERVAL;
+	private int sentTotal = -1;
+	private int sentOffset = -1;
+
+	public StorageTerminalSession(SyncedGuiDescription description, StorageTerminalProvider provider, StorageTerminalMessages.Keys keys, int columns, int windowSize) {
+		this.description = description;
+		this.provider = provider;
+		this.keys = keys;
+		this.columns = columns;
+		this.sentEntries = new StorageTerminalProvider.Entry[windowSize];
+
+		ScreenNetworking networking = description.getNetworking(NetworkSide.SERVER);
+		networking.receive(keys.query(), this::setQuery);
+		networking.receive(keys.action(), this::performAction);
+		networking.getReadyEvent().register(ready -> description.runAtEndOfTick(tickTask));
+	}
+
+	private void setQuery(StorageTerminalMessages.Query query) {
+		if (!query.search().equals(this.query.search()) || query.sortKey() != this.query.sortKey()) {
+			queryChanged = true;
+		}
+
+		this.query = query;
+		windowChanged = true;
+	}
+
+	private void tick() {
+		ticksSinceQuery++;
+
+		if (ticksSinceQuery >= REFRESH_INTERVAL && (queryChanged || provider.getVersion() != resultsVersion)) {
+			runQuery();
+		}
+
+		if (windowChanged) {
+			sendWindow();
+		}
+
+		// Keep checking for changes every tick while the screen is open
+		description.runAtEndOfTick(tickTask);
+	}
+
+	private void runQuery() {
+		resultsVersion = provider.getVersion();
+		queryChanged = false;
+		windowChanged = true;
+		ticksSinceQuery = 0;
+
+		String search = query.search().trim().toLowerCase(Locale.ROOT);
+		String[] words = search.isEmpty() ? new String[0] : search.split("\\s+");
+		List<Result> matching = new ArrayList<>();
+
+		provider.forEachEntry(entry -> {
+			if (entry.amount() <= 0 || entry.key().isEmpty()) return;
+			String name = entry.key().getName().getString().toLowerCase(Locale.ROOT);
+			String id = Registries.ITEM.getId(entry.key().getItem()).toString();
+
+			for (String word : words) {
+				if (!name.contains(word) && !id.contains(word)) return;
+			}
+
+			matching.add(new Result(entry, name, Registries.ITEM.getRawId(entry.key().getItem())));
+		});
+
+		matching.sort(switch (query.sortKey()) {
+			case NAME -> BY_NAME;
+			case AMOUNT -> BY_AMOUNT;
+			case ID -> BY_ID;
+		});
+
+		results = matching;
+		rebuildResultIndices();
+	}
+
+	private void rebuildResultIndices() {
+		resultIndices.clear();
+
+		for (int i = 0; i < results.size(); i++) {
+			resultIndices.put(ResultKey.of(results.get(i).entry().key()), i);
+		}
+
+		resultIndicesValid = true;
+	}
+
+	/**
+	 * {@return the offset of the visible window}
+	 * The offset is aligned to the start of a row and clamped to the last full window of the results.
+	 */
+	private int getOffset() {
+		int rows = (results.size() + columns - 1) / columns;
+		int maxOffset = Math.max(rows - sentEntries.length / columns, 0) * columns;
+		int offset = query.offset();
+		return Math.clamp(offset - Math.floorMod(offset, columns), 0, maxOffset);
+	}
+
+	private void sendWindow() {
+		windowChanged = false;
+		int total = results.size();
+		int offset = getOffset();
+		List<StorageTerminalMessages.RowUpdate> updates = new ArrayList<>();
+
+		for (int position = 0; position < sentEntries.length; position++) {
+			int index = offset + position;
+			StorageTerminalProvider.Entry entry = index < total ? results.get(index).entry() : null;
+
+			if (!isSameEntry(sentEntries[position], entry)) {
+				sentEntries[position] = entry;
+				updates.add(entry != null
+						? new StorageTerminalMessages.RowUpdate(position, entry.key(), entry.amount())
+						: new StorageTerminalMessages.RowUpdate(position, ItemStack.EMPTY, 0));
+			}
+		}
+
+		if (!updates.isEmpty() || total != sentTotal || offset != sentOffset) {
+			sentTotal = total;
+			sentOffset = offset;
+			description.getNetworking(NetworkSide.SERVER).send(keys.rows(), new StorageTerminalMessages.Rows(total, offset, updates));
+		}
+	}
+
+	private static boolean isSameEntry(@Nullable StorageTerminalProvider.Entry a, @Nullable StorageTerminalProvider.Entry b) {
+		if (a == null || b == null) return a == b;
+		return a.amount() == b.amount() && ItemStack.areItemsAndComponentsEqual(a.key(), b.key());
+	}
+
+	/**
+	 * {@return the index of a visible entry in the results, or -1 if it's not visible}
+	 *
+	 * @param position the window position
+	 * @param key      the key stack the player clicked
+	 */
+	private int getVisibleIndex(int position, ItemStack key) {
+		if (position < 0 || position >= sentEntries.length) return -1;
+		int index = getOffset() + position;
+		if (index >= results.size()) return -1;
+
+		// The entry must still match the one the player clicked
+		StorageTerminalProvider.Entry entry = results.get(index).entry();
+		return ItemStack.areItemsAndComponentsEqual(entry.key(), key) ? index : -1;
+	}
+
+	private int findResult(ItemStack key) {
+		if (!resultIndicesValid) rebuildResultIndices();
+		Integer index = resultIndices.get(ResultKey.of(key));
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * Changes the amount of an entry in the current results.
+	 * The order of the results and new entries are updated by the next query.
+	 *
+	 * @param index the index of the entry, or -1 to do nothing
+	 * @param delta the change of the amount
+	 */
+	private void adjustResult(int index, long delta) {
+		if (index < 0 || delta == 0) return;
+
+		Result result = results.get(index);
+		long amount = result.amount() + delta;
+		windowChanged = true;
+
+		if (amount > 0) {
+			results.set(index, new Result(new StorageTerminalProvider.Entry(result.entry().key(), amount), result.name(), result.rawId()));
+		} else {
+			// The indices of the following results change
+			results.remove(index);
+			resultIndicesValid = false;
+		}
+	}
+
+	private void performAction(StorageTerminalMessages.Action action) {
+		PlayerEntity player = description.getPlayerInventory().player;
+		if (!description.canUse(player)) return;
+
+		ItemStack cursor = description.getCursorStack();
+
+		switch (action.type()) {
+			case INSERT -> {
+				if (cursor.isEmpty()) return;
+				int inserted = (int) Math.min(provider.insert(cursor.copyWithCount(1), cursor.getCount()), cursor.getCount());
+				adjustResult(findResult(cursor), inserted);
+				cursor.decrement(inserted);
+				description.setCursorStack(cursor);
+			}
+			case TAKE_STACK, TAKE_HALF -> {
+				int index = getVisibleIndex(action.position(), action.key());
+				if (index < 0) return;
+				StorageTerminalProvider.Entry entry = results.get(index).entry();
+				ItemStack key = entry.key();
+				if (!cursor.isEmpty() && !ItemStack.areItemsAndComponentsEqual(cursor, key)) return;
+
+				long wanted = Math.min(entry.amount(), key.getMaxCount());
+				if (action.type() == StorageTerminalMessages.ActionType.TAKE_HALF) wanted = (wanted + 1) / 2;
+				wanted = Math.min(wanted, key.getMaxCount() - cursor.getCount());
+				if (wanted <= 0) return;
+
+				int extracted = (int) Math.min(provider.extract(key, wanted), wanted);
+				if (extracted <= 0) return;
+				adjustResult(index, -extracted);
+
+				if (cursor.isEmpty()) {
+					description.setCursorStack(key.copyWithCount(extracted));
+				} else {
+					cursor.increment(extracted);
+				}
+			}
+			case TAKE_TO_INVENTORY -> {
+				int index = getVisibleIndex(action.position(), action.key());
+				if (index < 0) return;
+				ItemStack key = results.get(index).entry().key();
+
+				int extracted = (int) Math.min(provider.extract(key, key.getMaxCount()), key.getMaxCount());
+				if (extracted <= 0) return;
+
+				ItemStack stack = key.copyWithCount(extracted);
+				player.getInventory().insertStack(stack);
+				int reinserted = 0;
+
+				if (!stack.isEmpty()) {
+					// Items that fit neither in the inventory nor back in the storage go to the player
+					reinserted = (int) Math.min(provider.insert(key, stack.getCount()), stack.getCount());
+					stack.decrement(reinserted);
+					if (!stack.isEmpty()) player.getInventory().offerOrDrop(stack);
+				}
+
+				adjustResult(index, reinserted - extracted);
+			}
+		}
+	}
+
+	private record Result(StorageTerminalProvider.Entry entry, String name, int rawId) {
+		long amount() {
+			return entry.amount();
+		}
+	}
+
+	// The component changes are safe to use as a key since stacks copy them before modifying
+	private record ResultKey(Item item, ComponentChanges components) {
+		static ResultKey of(ItemStack stack) {
+			return new ResultKey(stack.getItem(), stack.getComponentChanges());
+		}
+	}
+}
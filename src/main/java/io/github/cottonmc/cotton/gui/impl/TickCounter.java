@@ -0,0 +1,43 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+
+/**
+ * Counts the game ticks on each side.
+ *
+ * <p>The counters are advanced by tick events, so they count real game ticks
+ * even if {@link io.github.cottonmc.cotton.gui.SyncedGuiDescription#sendContentUpdates()}
+ * is called multiple times per tick, for example after click packets.
+ * Each counter is only advanced and read on the main thread of its side.
+ */
+public final class TickCounter {
+	private static long clientTicks = 0;
+	private static long serverTicks = 0;
+
+	private TickCounter() {
+	}
+
+	/**
+	 * {@return the number of ticks that have passed on a side}
+	 *
+	 * @param side the network side
+	 */
+	public static long get(NetworkSide side) {
+		return switch (side) {
+			case CLIENT -> clientTicks;
+			case SERVER -> serverTicks;
+		};
+	}
+
+	/**
+	 * Advances the tick counter of a side.
+	 *
+	 * @param side the network side
+	 */
+	public static void tick(NetworkSide side) {
+		switch (side) {
+			case CLIENT -> clientTicks++;
+			case SERVER -> serverTicks++;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketEncoder;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.WidePropertyDelegate;
+import io.github.cottonmc.cotton.gui.networking.NetworkDirection;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworking;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Syncs a {@link WidePropertyDelegate} from the server to the client.
+ *
+ * <p>Each update contains the changed properties as varint index gaps
+ * and zigzag-encoded varlong differences to the previously sent values.
+ */
+public final class WidePropertyDelegateSlotImpl extends BaseDataSlotImpl {
+	private static final Logger LOGGER = LoggerFactory.getLogger(WidePropertyDelegateSlotImpl.class);
+	private final Identifier id;
+	private final WidePropertyDelegate delegate;
+	// The last sent values on the server, the last received values on the client
+	private final long[] syncedValues;
+	private final long[] sendingValues;
+	private final PacketEncoder<RegistryByteBuf, Object> encoder = (buf, unused) -> writeUpdate(buf);
+
+	public WidePropertyDelegateSlotImpl(DataSlotSync sync, Identifier id, WidePropertyDelegate delegate) {
+		super(sync, NetworkDirection.SERVER_TO_CLIENT);
+		this.id = id;
+		this.delegate = delegate;
+		this.syncedValues = new long[delegate.size()];
+		this.sendingValues = new long[delegate.size()];
+	}
+
+	@Override
+	public void checkAndSendUpdate() {
+		for (int i = 0; i < syncedValues.length; i++) {
+			sendingValues[i] = delegate.getLong(i);
+
+			if (sendingValues[i] != syncedValues[i]) {
+				dirty = true;
+			}
+		}
+
+		super.checkAndSendUpdate();
+	}
+
+	@Override
+	public void registerReceiver(ScreenNetworking networking) {
+		networking.receive(id, WidePropertyDelegateSlotImpl::readUpdate, this::applyUpdate);
+	}
+
+	@Override
+	protected void sendUpdate(ScreenNetworking networking) {
+		networking.send(id, encoder, null);
+	}
+
+	@Override
+	protected void onUpdateSent() {
+		System.arraycopy(sendingValues, 0, syncedValues, 0, syncedValues.length);
+	}
+
+	private void writeUpdate(RegistryByteBuf buf) {
+		int count = 0;
+
+		for (int i = 0; i < syncedValues.length; i++) {
+			if (sendingValues[i] != syncedValues[i]) count++;
+		}
+
+		buf.writeVarInt(count);
+		int previous = -1;
+
+		for (int i = 0; i < syncedValues.length; i++) {
+			if (sendingValues[i] != syncedValues[i]) {
+				long difference = sendingValues[i] - syncedValues[i];
+				buf.writeVarInt(i - previous - 1);
+				buf.writeVarLong((difference << 1) ^ (difference >> 63));
+				previous = i;
+			}
+		}
+	}
+
+	private static Update readUpdate(RegistryByteBuf buf) {
+		int count = buf.readVarInt();
+
+		if (count < 0 || count > buf.readableBytes()) {
+			throw new IllegalArgumentException("Invalid property count: " + count);
+		}
+
+		int[] indices = new int[count];
+		long[] differences = new long[count];
+		int previous = -1;
+
+		for (int i = 0; i < count; i++) {
+			previous += buf.readVarInt() + 1;
+			long encoded = buf.readVarLong();
+			indices[i] = previous;
+			differences[i] = (encoded >>> 1) ^ -(encoded & 1);
+		}
+
+		return new Update(indices, differences);
+	}
+
+	private void applyUpdate(Update update) {
+		for (int i = 0; i < update.indices().length; i++) {
+			int index = update.indices()[i];
+
+			if (index < 0 || index >= syncedValues.length) {
+				LOGGER.error("Received property {} for {} which only has {} properties", index, id, syncedValues.length);
+				continue;
+			}
+
+			syncedValues[index] += update.differences()[i];
+			delegate.setLong(index, syncedValues[index]);
+		}
+	}
+
+	private record Update(int[] indices, long[] differences) {
+	}
+}
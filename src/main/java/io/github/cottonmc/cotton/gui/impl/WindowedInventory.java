@@ -0,0 +1,212 @@
+package io.github.cottonmc.cotton.gui.impl;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.Inventories;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.util.collection.DefaultedList;
+
+import io.github.cottonmc.cotton.gui.networking.ScreenMessageKey;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An inventory that exposes a fixed-size window of a larger inventory.
+ *
+ * <p>On the server, the window is a view of the backing inventory starting at an {@linkplain #setOffset(int) offset}.
+ * On the client, the window is a {@linkplain #useClientBuffer() buffer} containing the stacks synced
+ * from the server, since the client doesn't know the contents of the backing inventory.
+ * Changing the offset on the server changes the stacks of the window slots,
+ * and the slots of the window are then resent to the client.
+ *
+ * <p>When the client scrolls the window, it {@linkplain #clearClientBuffer() clears its buffer}
+ * until the stacks of the new window arrive, so that the stacks of the old window
+ * can't be seen or clicked at the new offset.
+ */
+public final class WindowedInventory implements Inventory {
+	/**
+	 * The C2S message that moves the window of a windowed slot grid.
+	 */
+	public static final ScreenMessageKey<ScrollMessage> SCROLL_MESSAGE_KEY = new ScreenMessageKey<>(
+			LibGuiCommon.id("scroll_slot_window"),
+			ScrollMessage.CODEC
+	);
+
+	private final Inventory backing;
+	private final int size;
+	private final int rowLength;
+	private int offset = 0;
+	private @Nullable DefaultedList<ItemStack> clientBuffer = null;
+
+	/**
+	 * Constructs a windowed inventory.
+	 *
+	 * @param backing   the backing inventory
+	 * @param size      the size of the window, a multiple of the row length
+	 * @param rowLength the number of slots per row, which the offset is aligned to
+	 */
+	public WindowedInventory(Inventory backing, int size, int rowLength) {
+		this.backing = backing;
+		this.size = size;
+		this.rowLength = rowLength;
+	}
+
+	/**
+	 * {@return the backing inventory of an inventory, or the inventory itself if it's not windowed}
+	 *
+	 * @param inventory the inventory
+	 */
+	public static Inventory unwrap(Inventory inventory) {
+		return inventory instanceof WindowedInventory windowed ? windowed.backing : inventory;
+	}
+
+	public Inventory getBacking() {
+		return backing;
+	}
+
+	public int getOffset() {
+		return offset;
+	}
+
+	/**
+	 * Moves this window. The offset is aligned to the start of a row, and clamped so that
+	 * the window doesn't start after the last full window of the backing inventory.
+	 *
+	 * @param offset the new offset
+	 * @return {@code true} if the offset changed, {@code false} otherwise
+	 */
+	public boolean setOffset(int offset) {
+		int rows = (backing.size() + rowLength - 1) / rowLength;
+		int maxOffset = Math.max(rows - size / rowLength, 0) * rowLength;
+		int aligned = Math.clamp(offset - Math.floorMod(offset, rowLength), 0, maxOffset);
+		if (aligned == this.offset) return false;
+
+		this.offset = aligned;
+		return true;
+	}
+
+	/**
+	 * Makes this window store its stacks in a separate buffer instead of the backing inventory.
+	 * This should be used on the client.
+	 */
+	public void useClientBuffer() {
+		if (clientBuffer == null) {
+			clientBuffer = DefaultedList.ofSize(size, ItemStack.EMPTY);
+		}
+	}
+
+	/**
+	 * Empties the client buffer, if it's used.
+	 */
+	public void clearClientBuffer() {
+		if (clientBuffer != null) {
+			clientBuffer.clear();
+		}
+	}
+
+	private int toBackingIndex(int slot) {
+		int index = offset + slot;
+		return slot >= 0 && slot < size && index < backing.size() ? index : -1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		for (int i = 0; i < size; i++) {
+			if (!getStack(i).isEmpty()) return false;
+		}
+
+		return true;
+	}
+
+	@Override
+	public ItemStack getStack(int slot) {
+		if (clientBuffer != null) {
+			return slot >= 0 && slot < size ? clientBuffer.get(slot) : ItemStack.EMPTY;
+		}
+
+		int index = toBackingIndex(slot);
+		return index >= 0 ? backing.getStack(index) : ItemStack.EMPTY;
+	}
+
+	@Override
+	public ItemStack removeStack(int slot, int amount) {
+		if (clientBuffer != null) {
+			return Inventories.splitStack(clientBuffer, slot, amount);
+		}
+
+		int index = toBackingIndex(slot);
+		return index >= 0 ? backing.removeStack(index, amount) : ItemStack.EMPTY;
+	}
+
+	@Override
+	public ItemStack removeStack(int slot) {
+		if (clientBuffer != null) {
+			return Inventories.removeStack(clientBuffer, slot);
+		}
+
+		int index = toBackingIndex(slot);
+		return index >= 0 ? backing.removeStack(index) : ItemStack.EMPTY;
+	}
+
+	@Override
+	public void setStack(int slot, ItemStack stack) {
+		if (clientBuffer != null) {
+			if (slot >= 0 && slot < size) clientBuffer.set(slot, stack);
+			return;
+		}
+
+		int index = toBackingIndex(slot);
+		if (index >= 0) backing.setStack(index, stack);
+	}
+
+	@Override
+	public int getMaxCountPerStack() {
+		return backing.getMaxCountPerStack();
+	}
+
+	@Override
+	public void markDirty() {
+		backing.markDirty();
+	}
+
+	@Override
+	public boolean canPlayerUse(PlayerEntity player) {
+		return backing.canPlayerUse(player);
+	}
+
+	@Override
+	public boolean isValid(int slot, ItemStack stack) {
+		if (clientBuffer != null) return true;
+
+		int index = toBackingIndex(slot);
+		return index >= 0 && backing.isValid(index, stack);
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			setStack(i, ItemStack.EMPTY);
+		}
+	}
+
+	/**
+	 * A request to move the window of a slot grid.
+	 *
+	 * @param slotId the slot ID of the first slot in the window
+	 * @param offset the new offset
+	 */
+	public record ScrollMessage(int slotId, int offset) {
+		public static final PacketCodec<RegistryByteBuf, ScrollMessage> CODEC = PacketCodec.tuple(
+				PacketCodecs.VAR_INT, ScrollMessage::slotId,
+				PacketCodecs.VAR_INT, ScrollMessage::offset,
+				ScrollMessage::new
+		);
+	}
+}
@@ -1,6 +1,8 @@
 package io.github.cottonmc.cotton.gui.impl.client;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 import net.fabricmc.loader.api.FabricLoader;
 
@@ -9,6 +11,9 @@ import blue.endless.jankson.JsonElement;
 import blue.endless.jankson.JsonObject;
 import io.github.cottonmc.cotton.gui.impl.Proxy;
 import io.github.cottonmc.cotton.gui.impl.ScreenNetworkingImpl;
+import io.github.cottonmc.cotton.gui.impl.ScreenNetworkingMetricsImpl;
+import io.github.cottonmc.cotton.gui.impl.TickCounter;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
 import io.github.cottonmc.jankson.JanksonFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -28,9 +33,17 @@ public class LibGuiClient implements ClientModInitializer {
 	public void onInitializeClient() {
 		config = loadConfig();
 
+		ClientTickEvents.START_CLIENT_TICK.register(client -> TickCounter.tick(NetworkSide.CLIENT));
 		ClientPlayNetworking.registerGlobalReceiver(ScreenNetworkingImpl.ScreenMessage.ID, (payload, context) -> {
 			ScreenNetworkingImpl.handle(context.client(), context.player(), payload);
 		});
+		ClientPlayNetworking.registerGlobalReceiver(ScreenNetworkingImpl.ScreenMessageBatch.ID, (payload, context) -> {
+			ScreenNetworkingImpl.handleBatch(context.client(), context.player(), payload);
+		});
+
+		if (ScreenNetworkingMetricsImpl.LOG_ON_STOP) {
+			ClientLifecycleEvents.CLIENT_STOPPING.register(client -> ScreenNetworkingMetricsImpl.get(NetworkSide.CLIENT).log());
+		}
 
 		Proxy.proxy = new ClientProxy();
 	}
@@ -1,12 +1,44 @@
 package io.github.cottonmc.cotton.gui.impl.mixin;
 
+import net.minecraft.item.ItemStack;
+import net.minecraft.screen.Property;
 import net.minecraft.screen.ScreenHandler;
+import net.minecraft.util.collection.DefaultedList;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.gen.Accessor;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+import java.util.List;
+import java.util.function.Supplier;
 
 @Mixin(ScreenHandler.class)
 public interface ScreenHandlerAccessor {
 	@Accessor("disableSync")
 	boolean libgui$getDisableSync();
+
+	@Accessor("trackedStacks")
+	DefaultedList<ItemStack> libgui$getTrackedStacks();
+
+	// Contains TrackedSlot objects for the client's view of each slot
+	@Accessor("trackedSlots")
+	DefaultedList<?> libgui$getTrackedSlots();
+
+	@Accessor("properties")
+	List<Property> libgui$getProperties();
+
+	@Invoker("updateTrackedSlot")
+	void libgui$updateTrackedSlot(int slot, ItemStack stack, Supplier<ItemStack> copySupplier);
+
+	@Invoker("checkSlotUpdates")
+	void libgui$checkSlotUpdates(int slot, ItemStack stack, Supplier<ItemStack> copySupplier);
+
+	@Invoker("checkCursorStackUpdates")
+	void libgui$checkCursorStackUpdates();
+
+	@Invoker("notifyPropertyUpdate")
+	void libgui$notifyPropertyUpdate(int index, int value);
+
+	@Invoker("checkPropertyUpdates")
+	void libgui$checkPropertyUpdates(int index, int value);
 }
@@ -0,0 +1,18 @@
+package io.github.cottonmc.cotton.gui.impl.mixin;
+
+import net.minecraft.screen.slot.Slot;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(Slot.class)
+public interface SlotAccessor {
+	@Mutable
+	@Accessor("x")
+	void libgui$setX(int x);
+
+	@Mutable
+	@Accessor("y")
+	void libgui$setY(int y);
+}
@@ -0,0 +1,87 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import net.minecraft.util.Identifier;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A data slot holding a primitive {@code boolean}.
+ *
+ * <p>Unlike {@code DataSlot<Boolean>}, this data slot doesn't box its values
+ * and syncs them in a compact single-byte format.
+ *
+ * @see io.github.cottonmc.cotton.gui.SyncedGuiDescription#registerBooleanDataSlot(Identifier, boolean, NetworkDirection)
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface BooleanDataSlot extends BooleanSupplier {
+	/**
+	 * {@return the current value of the data slot}
+	 */
+	boolean get();
+
+	/**
+	 * Returns the current value of the data slot.
+	 *
+	 * @return the current value
+	 */
+	@Override
+	default boolean getAsBoolean() {
+		return get();
+	}
+
+	/**
+	 * Sets the current value of the data slot.
+	 *
+	 * @param value the new value
+	 */
+	void set(boolean value);
+
+	/**
+	 * Adds a change listener to this data slot.
+	 *
+	 * @param listener the added listener
+	 */
+	void addChangeListener(ChangeListener listener);
+
+	/**
+	 * {@return the ID of the message that syncs this data slot}
+	 */
+	Identifier getId();
+
+	/**
+	 * {@return the sync direction of this data slot}
+	 */
+	NetworkDirection getNetworkDirection();
+
+	/**
+	 * {@return the sync priority of this data slot}
+	 * The default priority is {@link SyncPriority#NORMAL}.
+	 */
+	SyncPriority getPriority();
+
+	/**
+	 * Sets the sync priority of this data slot.
+	 *
+	 * @param priority the new priority, cannot be null
+	 * @return this data slot
+	 */
+	BooleanDataSlot setPriority(SyncPriority priority);
+
+	/**
+	 * A listener for data slot value changes.
+	 */
+	@FunctionalInterface
+	interface ChangeListener {
+		/**
+		 * Called when a data slot's value changes.
+		 *
+		 * @param dataSlot the data slot for which the event was triggered
+		 * @param from     the old value
+		 * @param to       the new value
+		 */
+		void onValueChanged(BooleanDataSlot dataSlot, boolean from, boolean to);
+	}
+}
@@ -0,0 +1,24 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+/**
+ * The way a {@link DataSlot} detects changes to its value.
+ *
+ * @since 15.0.0
+ */
+public enum ChangeDetection {
+	/**
+	 * Values are compared with {@link Object#equals(Object)} when they're set.
+	 * This is the default mode.
+	 */
+	EQUALS,
+
+	/**
+	 * Values are compared by identity when they're set, and an update is only sent
+	 * if the hash of the encoded value differs from the last sent value.
+	 *
+	 * <p>This is useful for large immutable values that are rebuilt often,
+	 * as it avoids deep {@code equals} calls and doesn't resend identical values.
+	 * Change listeners are called for every new value instance.
+	 */
+	ENCODED_HASH
+}
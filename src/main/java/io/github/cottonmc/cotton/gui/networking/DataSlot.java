@@ -78,6 +78,10 @@ public interface DataSlot<T> {
 	/**
 	 * {@return the key of the message that syncs this data slot}
 	 * The message's content is the new {@code T} value.
+	 *
+	 * <p>{@linkplain ListDataSlot List} and {@linkplain MapDataSlot map} data slots sync operation logs
+	 * in a message with the ID of this key, so for them the key only describes the encoding of the full value
+	 * and can't be used to send or receive the message.
 	 */
 	ScreenMessageKey<T> getKey();
 
@@ -86,6 +90,61 @@ public interface DataSlot<T> {
 	 */
 	NetworkDirection getNetworkDirection();
 
+	/**
+	 * {@return the sync priority of this data slot}
+	 * The default priority is {@link SyncPriority#NORMAL}.
+	 *
+	 * @since 15.0.0
+	 */
+	SyncPriority getPriority();
+
+	/**
+	 * Sets the sync priority of this data slot.
+	 *
+	 * @param priority the new priority, cannot be null
+	 * @return this data slot
+	 * @since 15.0.0
+	 */
+	DataSlot<T> setPriority(SyncPriority priority);
+
+	/**
+	 * {@return the sync policy of this data slot}
+	 * The default policy is {@link SyncPolicy#everyTick()}.
+	 *
+	 * @since 15.0.0
+	 */
+	SyncPolicy<? super T> getSyncPolicy();
+
+	/**
+	 * Sets the sync policy of this data slot, which can limit how often updates are sent.
+	 *
+	 * @param syncPolicy the new sync policy, cannot be null
+	 * @return this data slot
+	 * @since 15.0.0
+	 */
+	DataSlot<T> setSyncPolicy(SyncPolicy<? super T> syncPolicy);
+
+	/**
+	 * {@return the change detection mode of this data slot}
+	 * The default mode is {@link ChangeDetection#EQUALS}.
+	 *
+	 * @since 15.0.0
+	 */
+	ChangeDetection getChangeDetection();
+
+	/**
+	 * Sets the change detection mode of this data slot.
+	 *
+	 * <p>{@linkplain ListDataSlot List} and {@linkplain MapDataSlot map} data slots
+	 * only support {@link ChangeDetection#EQUALS}.
+	 *
+	 * @param changeDetection the new change detection mode, cannot be null
+	 * @return this data slot
+	 * @throws UnsupportedOperationException if this data slot doesn't support the mode
+	 * @since 15.0.0
+	 */
+	DataSlot<T> setChangeDetection(ChangeDetection changeDetection);
+
 	/**
 	 * A listener for data slot value changes.
 	 *
@@ -0,0 +1,141 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import net.minecraft.screen.PropertyDelegate;
+import net.minecraft.util.Identifier;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.IntSupplier;
+
+/**
+ * A data slot holding a primitive {@code int}. It can be used as a source for {@link io.github.cottonmc.cotton.gui.widget.WBar WBar} with {@link #asPropertyDelegate}.
+ *
+ * <p>Unlike {@code DataSlot<Integer>}, this data slot doesn't box its values
+ * and syncs them in a compact variable-length format, where small negative values are as short as small positive ones.
+ * Values are always compared exactly, so there is no {@linkplain ChangeDetection change detection} mode to choose.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * IntDataSlot progress = registerIntDataSlot(Identifier.of("my_mod", "progress"), 0);
+ * IntDataSlot maxProgress = registerIntDataSlot(Identifier.of("my_mod", "max_progress"), 100);
+ *
+ * // Display the values in a bar and a label:
+ * WBar bar = new WBar(BG, BAR, 0, 1).setProperties(IntDataSlot.asPropertyDelegate(progress, maxProgress));
+ * WDynamicLabel label = new WDynamicLabel(() -> progress.get() + "/" + maxProgress.get());
+ * }
+ *
+ * @see io.github.cottonmc.cotton.gui.SyncedGuiDescription#registerIntDataSlot(Identifier, int, NetworkDirection)
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface IntDataSlot extends IntSupplier {
+	/**
+	 * {@return the current value of the data slot}
+	 */
+	int get();
+
+	/**
+	 * Returns the current value of the data slot.
+	 *
+	 * @return the current value
+	 */
+	@Override
+	default int getAsInt() {
+		return get();
+	}
+
+	/**
+	 * Sets the current value of the data slot.
+	 *
+	 * @param value the new value
+	 */
+	void set(int value);
+
+	/**
+	 * Adds a change listener to this data slot.
+	 *
+	 * @param listener the added listener
+	 */
+	void addChangeListener(ChangeListener listener);
+
+	/**
+	 * {@return the ID of the message that syncs this data slot}
+	 */
+	Identifier getId();
+
+	/**
+	 * {@return the sync direction of this data slot}
+	 */
+	NetworkDirection getNetworkDirection();
+
+	/**
+	 * {@return the sync priority of this data slot}
+	 * The default priority is {@link SyncPriority#NORMAL}.
+	 */
+	SyncPriority getPriority();
+
+	/**
+	 * Sets the sync priority of this data slot.
+	 *
+	 * @param priority the new priority, cannot be null
+	 * @return this data slot
+	 */
+	IntDataSlot setPriority(SyncPriority priority);
+
+	/**
+	 * {@return the sync policy of this data slot}
+	 * The default policy is {@link SyncPolicy#everyTick()}.
+	 */
+	SyncPolicy<? super Integer> getSyncPolicy();
+
+	/**
+	 * Sets the sync policy of this data slot, which can limit how often updates are sent.
+	 * The values are boxed when they are passed to the {@linkplain SyncPolicy#threshold threshold} of the policy.
+	 *
+	 * @param syncPolicy the new sync policy, cannot be null
+	 * @return this data slot
+	 */
+	IntDataSlot setSyncPolicy(SyncPolicy<? super Integer> syncPolicy);
+
+	/**
+	 * Creates a read-only property delegate that reads its properties from int data slots.
+	 * The index of each property is the index of the data slot in the parameters.
+	 *
+	 * @param dataSlots the data slots
+	 * @return the created property delegate
+	 */
+	static PropertyDelegate asPropertyDelegate(IntDataSlot... dataSlots) {
+		IntDataSlot[] slots = dataSlots.clone();
+		return new PropertyDelegate() {
+			@Override
+			public int get(int index) {
+				return slots[index].get();
+			}
+
+			@Override
+			public void set(int index, int value) {
+				throw new UnsupportedOperationException("Data slot property delegates are read-only");
+			}
+
+			@Override
+			public int size() {
+				return slots.length;
+			}
+		};
+	}
+
+	/**
+	 * A listener for data slot value changes.
+	 */
+	@FunctionalInterface
+	interface ChangeListener {
+		/**
+		 * Called when a data slot's value changes.
+		 *
+		 * @param dataSlot the data slot for which the event was triggered
+		 * @param from     the old value
+		 * @param to       the new value
+		 */
+		void onValueChanged(IntDataSlot dataSlot, int from, int to);
+	}
+}
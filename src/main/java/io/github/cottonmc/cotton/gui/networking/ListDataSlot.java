@@ -0,0 +1,107 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.List;
+
+/**
+ * A data slot holding a list that syncs individual changes instead of the full list.
+ *
+ * <p>Changes made with the mutation methods of this interface ({@link #add(Object)}, {@link #set(int, Object)} etc.)
+ * are recorded and sent to the other side as a list of operations.
+ * If more operations have been recorded than there are elements in the list,
+ * or if the whole list is replaced with {@link #set(List)}, the full list is sent instead.
+ *
+ * <p>The {@linkplain #get() value} of a list data slot is an unmodifiable list.
+ * Changes are applied in place to an internal working copy, and a new list is produced
+ * when the value is next read or synced. Change listeners therefore receive distinct old and new values,
+ * and are notified once for consecutive changes instead of once per change.
+ * On the receiving side, all operations of a single update are applied at once,
+ * and listeners are notified once per update.
+ *
+ * <p>The synced message contains either the operations or the full list, so the codec of the
+ * {@linkplain #getKey() key} only describes the full list and doesn't match the message on the wire.
+ *
+ * <p>Like other data slots, the initial value is not synced. Both sides should start
+ * with the same initial list for the synced operations to apply correctly.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * ListDataSlot<String> jobs = registerListDataSlot(
+ *     Identifier.of("my_mod", "jobs"),
+ *     PacketCodecs.STRING,
+ *     List.of()
+ * );
+ *
+ * // Only this single addition is sent to the client.
+ * if (!getWorld().isClient()) {
+ *     jobs.add("Smelt iron");
+ * }
+ * }
+ *
+ * @param <E> the element type
+ * @see io.github.cottonmc.cotton.gui.SyncedGuiDescription#registerListDataSlot
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface ListDataSlot<E> extends DataSlot<List<E>> {
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return an unmodifiable list containing the current elements
+	 */
+	@Override
+	@UnmodifiableView
+	default List<E> get() {
+		return valueProperty().get();
+	}
+
+	/**
+	 * {@return the number of elements in this list}
+	 */
+	default int size() {
+		return get().size();
+	}
+
+	/**
+	 * Appends an element to the end of the list.
+	 *
+	 * @param element the added element
+	 */
+	default void add(E element) {
+		add(size(), element);
+	}
+
+	/**
+	 * Inserts an element into the list.
+	 *
+	 * @param index   the index of the inserted element
+	 * @param element the inserted element
+	 * @throws IndexOutOfBoundsException if the index is out of range ({@code index < 0 || index > size()})
+	 */
+	void add(int index, E element);
+
+	/**
+	 * Replaces an element of the list.
+	 *
+	 * @param index   the index of the replaced element
+	 * @param element the new element
+	 * @throws IndexOutOfBoundsException if the index is out of range ({@code index < 0 || index >= size()})
+	 */
+	void set(int index, E element);
+
+	/**
+	 * Removes an element from the list.
+	 *
+	 * @param index the index of the removed element
+	 * @return the removed element
+	 * @throws IndexOutOfBoundsException if the index is out of range ({@code index < 0 || index >= size()})
+	 */
+	E remove(int index);
+
+	/**
+	 * Removes all elements from the list.
+	 */
+	void clear();
+}
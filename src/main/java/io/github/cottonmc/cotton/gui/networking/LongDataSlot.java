@@ -0,0 +1,103 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import net.minecraft.util.Identifier;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A data slot holding a primitive {@code long}.
+ *
+ * <p>Unlike {@code DataSlot<Long>}, this data slot doesn't box its values
+ * and syncs them in a compact variable-length format, where small negative values are as short as small positive ones.
+ * Values are always compared exactly, so there is no {@linkplain ChangeDetection change detection} mode to choose.
+ *
+ * @see io.github.cottonmc.cotton.gui.SyncedGuiDescription#registerLongDataSlot(Identifier, long, NetworkDirection)
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface LongDataSlot extends LongSupplier {
+	/**
+	 * {@return the current value of the data slot}
+	 */
+	long get();
+
+	/**
+	 * Returns the current value of the data slot.
+	 *
+	 * @return the current value
+	 */
+	@Override
+	default long getAsLong() {
+		return get();
+	}
+
+	/**
+	 * Sets the current value of the data slot.
+	 *
+	 * @param value the new value
+	 */
+	void set(long value);
+
+	/**
+	 * Adds a change listener to this data slot.
+	 *
+	 * @param listener the added listener
+	 */
+	void addChangeListener(ChangeListener listener);
+
+	/**
+	 * {@return the ID of the message that syncs this data slot}
+	 */
+	Identifier getId();
+
+	/**
+	 * {@return the sync direction of this data slot}
+	 */
+	NetworkDirection getNetworkDirection();
+
+	/**
+	 * {@return the sync priority of this data slot}
+	 * The default priority is {@link SyncPriority#NORMAL}.
+	 */
+	SyncPriority getPriority();
+
+	/**
+	 * Sets the sync priority of this data slot.
+	 *
+	 * @param priority the new priority, cannot be null
+	 * @return this data slot
+	 */
+	LongDataSlot setPriority(SyncPriority priority);
+
+	/**
+	 * {@return the sync policy of this data slot}
+	 * The default policy is {@link SyncPolicy#everyTick()}.
+	 */
+	SyncPolicy<? super Long> getSyncPolicy();
+
+	/**
+	 * Sets the sync policy of this data slot, which can limit how often updates are sent.
+	 * The values are boxed when they are passed to the {@linkplain SyncPolicy#threshold threshold} of the policy.
+	 *
+	 * @param syncPolicy the new sync policy, cannot be null
+	 * @return this data slot
+	 */
+	LongDataSlot setSyncPolicy(SyncPolicy<? super Long> syncPolicy);
+
+	/**
+	 * A listener for data slot value changes.
+	 */
+	@FunctionalInterface
+	interface ChangeListener {
+		/**
+		 * Called when a data slot's value changes.
+		 *
+		 * @param dataSlot the data slot for which the event was triggered
+		 * @param from     the old value
+		 * @param to       the new value
+		 */
+		void onValueChanged(LongDataSlot dataSlot, long from, long to);
+	}
+}
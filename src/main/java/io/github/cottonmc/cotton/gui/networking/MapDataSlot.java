@@ -0,0 +1,76 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Map;
+
+/**
+ * A data slot holding a map that syncs individual changes instead of the full map.
+ *
+ * <p>Changes made with the mutation methods of this interface ({@link #put}, {@link #remove} and {@link #clear})
+ * are recorded and sent to the other side as a list of operations.
+ * If more operations have been recorded than there are entries in the map,
+ * or if the whole map is replaced with {@link #set(Map)}, the full map is sent instead.
+ *
+ * <p>The {@linkplain #get() value} of a map data slot is an unmodifiable map that keeps the insertion order of its keys.
+ * Changes are applied in place to an internal working copy, and a new map is produced
+ * when the value is next read or synced. Change listeners therefore receive distinct old and new values,
+ * and are notified once for consecutive changes instead of once per change.
+ * On the receiving side, all operations of a single update are applied at once,
+ * and listeners are notified once per update.
+ *
+ * <p>The synced message contains either the operations or the full map, so the codec of the
+ * {@linkplain #getKey() key} only describes the full map and doesn't match the message on the wire.
+ *
+ * <p>Like other data slots, the initial value is not synced. Both sides should start
+ * with the same initial map for the synced operations to apply correctly.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @see io.github.cottonmc.cotton.gui.SyncedGuiDescription#registerMapDataSlot
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface MapDataSlot<K, V> extends DataSlot<Map<K, V>> {
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @return an unmodifiable map containing the current entries
+	 */
+	@Override
+	@UnmodifiableView
+	default Map<K, V> get() {
+		return valueProperty().get();
+	}
+
+	/**
+	 * {@return the number of entries in this map}
+	 */
+	default int size() {
+		return get().size();
+	}
+
+	/**
+	 * Associates a value with a key in the map.
+	 *
+	 * @param key   the key
+	 * @param value the new value
+	 * @return the previous value of the key, or null if there was none
+	 */
+	@Nullable V put(K key, V value);
+
+	/**
+	 * Removes a key and its value from the map.
+	 *
+	 * @param key the removed key
+	 * @return the removed value, or null if the key was not present
+	 */
+	@Nullable V remove(K key);
+
+	/**
+	 * Removes all entries from the map.
+	 */
+	void clear();
+}
@@ -1,21 +1,115 @@
 package io.github.cottonmc.cotton.gui.networking;
 
 import com.mojang.serialization.Codec;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
 import net.minecraft.util.Identifier;
 
+import org.jetbrains.annotations.Nullable;
+
 import java.util.Objects;
 
 /**
  * Contains the ID and codec of a screen message.
  *
- * @param id    the message id
- * @param codec the codec used to encode and decode message data
- * @param <D>   the message data type
+ * <p>A message key has either a {@linkplain #codec() codec} or a {@linkplain #packetCodec() packet codec}.
+ * Codec-based messages are sent as NBT, while packet codec-based messages are written directly
+ * into the packet buffer without an intermediate NBT representation. Packet codecs are cheaper
+ * for small and frequently sent data, such as numeric data slots.
+ * Use {@link #hasCodec()} to check which kind of codec a key has.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // A message key sent as NBT
+ * private static final ScreenMessageKey<Integer> NBT_KEY = new ScreenMessageKey<>(
+ *     Identifier.of("my_mod", "nbt_message"),
+ *     Codec.INT
+ * );
+ *
+ * // A message key written directly into the packet
+ * private static final ScreenMessageKey<Integer> BINARY_KEY = new ScreenMessageKey<>(
+ *     Identifier.of("my_mod", "binary_message"),
+ *     PacketCodecs.VAR_INT
+ * );
+ * }
+ *
+ * @param id          the message id
+ * @param codec       the codec used to encode and decode message data as NBT,
+ *                    or null if this key uses a packet codec (the {@link #codec()} accessor throws in that case)
+ * @param packetCodec the packet codec used to encode and decode message data,
+ *                    or null if this key uses a codec
+ * @param <D>         the message data type
  * @since 13.1.0
  */
-public record ScreenMessageKey<D>(Identifier id, Codec<D> codec) {
+public record ScreenMessageKey<D>(Identifier id, @Nullable Codec<D> codec, @Nullable PacketCodec<? super RegistryByteBuf, D> packetCodec) {
+	/**
+	 * Constructs a screen message key.
+	 *
+	 * @param id          the message id
+	 * @param codec       the codec used to encode and decode message data as NBT,
+	 *                    or null if this key uses a packet codec
+	 * @param packetCodec the packet codec used to encode and decode message data,
+	 *                    or null if this key uses a codec
+	 * @throws NullPointerException     if the ID is null
+	 * @throws IllegalArgumentException if there isn't exactly one codec
+	 * @since 15.0.0
+	 */
 	public ScreenMessageKey {
 		Objects.requireNonNull(id, "id");
-		Objects.requireNonNull(codec, "codec");
+
+		if ((codec == null) == (packetCodec == null)) {
+			throw new IllegalArgumentException("Screen message key " + id + " must have either a codec or a packet codec");
+		}
+	}
+
+	/**
+	 * Constructs a screen message key that sends its data as NBT.
+	 *
+	 * @param id    the message id
+	 * @param codec the codec used to encode and decode message data
+	 * @throws NullPointerException if either parameter is null
+	 */
+	public ScreenMessageKey(Identifier id, Codec<D> codec) {
+		this(id, Objects.requireNonNull(codec, "codec"), null);
+	}
+
+	/**
+	 * Constructs a screen message key that writes its data directly into the packet.
+	 *
+	 * @param id          the message id
+	 * @param packetCodec the packet codec used to encode and decode message data
+	 * @throws NullPointerException if either parameter is null
+	 * @since 15.0.0
+	 */
+	public ScreenMessageKey(Identifier id, PacketCodec<? super RegistryByteBuf, D> packetCodec) {
+		this(id, null, Objects.requireNonNull(packetCodec, "packetCodec"));
+	}
+
+	/**
+	 * {@return the codec used to encode and decode message data as NBT}
+	 *
+	 * <p>Since 15.0.0, keys can use a {@linkplain #packetCodec() packet codec} instead of a codec.
+	 * This method never returns null and throws for those keys.
+	 *
+	 * @throws IllegalStateException if this key uses a packet codec
+	 * @see #hasCodec()
+	 */
+	@Override
+	public Codec<D> codec() {
+		if (codec == null) {
+			throw new IllegalStateException("Screen message key " + id + " uses a packet codec instead of a codec");
+		}
+
+		return codec;
+	}
+
+	/**
+	 * {@return whether this key uses a {@linkplain #codec() codec}}
+	 * If this method returns {@code false}, the key uses a {@linkplain #packetCodec() packet codec}.
+	 *
+	 * @since 15.0.0
+	 */
+	public boolean hasCodec() {
+		return codec != null;
 	}
 }
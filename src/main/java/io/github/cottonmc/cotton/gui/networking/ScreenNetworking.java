@@ -3,12 +3,17 @@ package io.github.cottonmc.cotton.gui.networking;
 import com.mojang.serialization.Decoder;
 import com.mojang.serialization.Encoder;
 import net.fabricmc.fabric.api.event.Event;
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketDecoder;
+import net.minecraft.network.codec.PacketEncoder;
 import net.minecraft.util.Identifier;
 
 import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * {@code ScreenNetworking} handles screen-related network messages sent between the server and the client.
@@ -80,6 +85,21 @@ public interface ScreenNetworking {
 	 */
 	<D> void receive(Identifier message, Decoder<D> decoder, MessageReceiver<D> receiver);
 
+	/**
+	 * Registers a message receiver for a message that is written directly into the packet buffer.
+	 *
+	 * <p>The decoder reads from a {@link RegistryByteBuf}, so it can depend on registry data.
+	 *
+	 * @param message  the screen message ID
+	 * @param decoder  the message decoder
+	 * @param receiver the message receiver
+	 * @param <D> the message data type
+	 * @throws IllegalStateException if the message has already been registered
+	 * @throws NullPointerException  if any parameter is null
+	 * @since 15.0.0
+	 */
+	<D> void receive(Identifier message, PacketDecoder<? super RegistryByteBuf, D> decoder, MessageReceiver<D> receiver);
+
 	/**
 	 * Registers a message receiver for the message.
 	 *
@@ -94,7 +114,12 @@ public interface ScreenNetworking {
 	 */
 	default <D> void receive(ScreenMessageKey<D> message, MessageReceiver<D> receiver) {
 		Objects.requireNonNull(message);
-		receive(message.id(), message.codec(), receiver);
+
+		if (message.packetCodec() != null) {
+			receive(message.id(), message.packetCodec(), receiver);
+		} else {
+			receive(message.id(), message.codec(), receiver);
+		}
 	}
 
 	/**
@@ -110,6 +135,21 @@ public interface ScreenNetworking {
 	 */
 	<D> void send(Identifier message, Encoder<D> encoder, D data);
 
+	/**
+	 * Sends a screen message to the other side of the connection,
+	 * writing the data directly into the packet buffer.
+	 *
+	 * <p>The encoder writes to a {@link RegistryByteBuf}, so it can depend on registry data.
+	 *
+	 * @param message the screen message ID
+	 * @param encoder the message encoder
+	 * @param data    the message data
+	 * @param <D> the message data type
+	 * @throws NullPointerException if the message ID or the encoder is null
+	 * @since 15.0.0
+	 */
+	<D> void send(Identifier message, PacketEncoder<? super RegistryByteBuf, D> encoder, D data);
+
 	/**
 	 * Sends a screen message to the other side of the connection.
 	 *
@@ -123,9 +163,174 @@ public interface ScreenNetworking {
 	 */
 	default <D> void send(ScreenMessageKey<D> message, D data) {
 		Objects.requireNonNull(message, "message");
-		send(message.id(), message.codec(), data);
+
+		if (message.packetCodec() != null) {
+			send(message.id(), message.packetCodec(), data);
+		} else {
+			send(message.id(), message.codec(), data);
+		}
 	}
 
+	/**
+	 * Sends a large screen message to the other side of the connection in multiple parts.
+	 *
+	 * <p>The encoded message is compressed if that makes it smaller and split into chunks.
+	 * A few chunks are sent each tick after the data slot updates, so streamed messages don't
+	 * delay other messages. Chunks beyond the first one of each tick count towards the
+	 * {@linkplain #getTickByteBudget() tick byte budget}. The message is received by the normal {@linkplain #receive(Identifier, PacketDecoder, MessageReceiver) receiver}
+	 * once all chunks have arrived, and its progress can be observed with {@link #addTransferListener}.
+	 *
+	 * <p>Streamed messages can be up to 64 MiB in size.
+	 *
+	 * @param message the screen message ID
+	 * @param encoder the message encoder
+	 * @param data    the message data
+	 * @param <D> the message data type
+	 * @throws IllegalArgumentException if the encoded message is too large
+	 * @throws NullPointerException     if the message ID or the encoder is null
+	 * @since 15.0.0
+	 */
+	<D> void sendStreamed(Identifier message, PacketEncoder<? super RegistryByteBuf, D> encoder, D data);
+
+	/**
+	 * Sends a large screen message to the other side of the connection in multiple parts.
+	 *
+	 * <p>The message is encoded as NBT, so it is still limited by the NBT size limit when received.
+	 *
+	 * @param message the screen message ID
+	 * @param encoder the message encoder
+	 * @param data    the message data
+	 * @param <D> the message data type
+	 * @throws IllegalArgumentException if the encoded message is too large
+	 * @throws NullPointerException     if the message ID or the encoder is null
+	 * @see #sendStreamed(Identifier, PacketEncoder, Object)
+	 * @since 15.0.0
+	 */
+	<D> void sendStreamed(Identifier message, Encoder<D> encoder, D data);
+
+	/**
+	 * Sends a large screen message to the other side of the connection in multiple parts.
+	 *
+	 * @param message the screen message key
+	 * @param data    the message data
+	 * @param <D> the message data type
+	 * @throws IllegalArgumentException if the encoded message is too large
+	 * @throws NullPointerException     if the message key is null
+	 * @see #sendStreamed(Identifier, PacketEncoder, Object)
+	 * @since 15.0.0
+	 */
+	default <D> void sendStreamed(ScreenMessageKey<D> message, D data) {
+		Objects.requireNonNull(message, "message");
+
+		if (message.packetCodec() != null) {
+			sendStreamed(message.id(), message.packetCodec(), data);
+		} else {
+			sendStreamed(message.id(), message.codec(), data);
+		}
+	}
+
+	/**
+	 * Adds a listener for the progress of streamed messages received with the message ID.
+	 *
+	 * @param message  the screen message ID
+	 * @param listener the progress listener
+	 * @throws NullPointerException if any parameter is null
+	 * @see #sendStreamed(Identifier, PacketEncoder, Object)
+	 * @since 15.0.0
+	 */
+	void addTransferListener(Identifier message, TransferListener listener);
+
+	/**
+	 * Sends a request to the other side of the connection.
+	 *
+	 * <p>The returned future is completed on the main thread of this side when the response arrives.
+	 * It is completed exceptionally with a {@link java.util.concurrent.TimeoutException} if no response arrives
+	 * within 10 seconds, or with a {@link java.util.concurrent.CancellationException} if the screen is closed
+	 * before the response arrives. If the request handler on the other side fails, the future is completed
+	 * exceptionally with an {@link IllegalStateException}.
+	 *
+	 * @param key     the request key
+	 * @param request the request data
+	 * @param <Q> the request data type
+	 * @param <R> the response data type
+	 * @return a future that completes with the response
+	 * @throws NullPointerException if the key is null
+	 * @since 15.0.0
+	 */
+	<Q, R> CompletableFuture<R> request(ScreenRequestKey<Q, R> key, Q request);
+
+	/**
+	 * Sends a request to the other side of the connection with a custom timeout.
+	 *
+	 * @param key     the request key
+	 * @param request the request data
+	 * @param timeout the maximum time to wait for the response
+	 * @param <Q> the request data type
+	 * @param <R> the response data type
+	 * @return a future that completes with the response
+	 * @throws NullPointerException if the key or the timeout is null
+	 * @see #request(ScreenRequestKey, Object)
+	 * @since 15.0.0
+	 */
+	<Q, R> CompletableFuture<R> request(ScreenRequestKey<Q, R> key, Q request, Duration timeout);
+
+	/**
+	 * Registers a request handler that answers requests from the other side.
+	 *
+	 * <p>The handler is called on the main thread. The future returned by the handler can be completed
+	 * on any thread, and the response is sent on the main thread once it completes.
+	 * Responses are not sent if the screen has been closed in the meantime.
+	 *
+	 * @param key     the request key
+	 * @param handler the request handler
+	 * @param <Q> the request data type
+	 * @param <R> the response data type
+	 * @throws IllegalStateException if the request has already been registered
+	 * @throws NullPointerException  if any parameter is null
+	 * @since 15.0.0
+	 */
+	<Q, R> void respond(ScreenRequestKey<Q, R> key, RequestHandler<Q, R> handler);
+
+	/**
+	 * {@return the maximum number of encoded message bytes sent per tick, or 0 if unlimited}
+	 *
+	 * <p>The default budget can be set with the {@code libgui.tickByteBudget} system property.
+	 *
+	 * @see #setTickByteBudget(int)
+	 * @since 15.0.0
+	 */
+	int getTickByteBudget();
+
+	/**
+	 * Sets the maximum number of encoded message bytes sent per tick.
+	 *
+	 * <p>All sent messages count towards the budget. If the budget has been used up,
+	 * {@linkplain DataSlot data slot} updates that don't have the {@linkplain SyncPriority#HIGH high priority}
+	 * are deferred to later ticks. Other messages are never deferred. The first update of each tick
+	 * is always sent, even if it's larger than the budget.
+	 * The budget is counted per game tick, regardless of how many times the content updates are sent during the tick.
+	 *
+	 * @param budget the new budget in bytes, or 0 for an unlimited budget
+	 * @throws IllegalArgumentException if the budget is negative
+	 * @since 15.0.0
+	 */
+	void setTickByteBudget(int budget);
+
+	/**
+	 * {@return the total number of data slot updates deferred due to the byte budget}
+	 *
+	 * @since 15.0.0
+	 */
+	long getDeferredUpdateCount();
+
+	/**
+	 * {@return the total number of encoded bytes in data slot updates deferred due to the byte budget}
+	 * Each deferral counts separately, so an update deferred for several ticks is counted several times.
+	 *
+	 * @since 15.0.0
+	 */
+	long getDeferredByteCount();
+
 	/**
 	 * An event that is triggered when the networking handlers
 	 * on both sides are ready to send and receive messages.
@@ -153,6 +358,46 @@ public interface ScreenNetworking {
 		void onMessage(D data);
 	}
 
+	/**
+	 * A listener for the progress of received streamed messages.
+	 *
+	 * @since 15.0.0
+	 */
+	@FunctionalInterface
+	interface TransferListener {
+		/**
+		 * Called on the main thread when a part of a streamed message has been received.
+		 *
+		 * <p>The byte counts refer to the transferred data, which might be compressed.
+		 * The transfer is complete when {@code receivedBytes == totalBytes}.
+		 *
+		 * @param receivedBytes the number of bytes received so far
+		 * @param totalBytes    the total number of bytes in the transfer
+		 */
+		void onProgress(int receivedBytes, int totalBytes);
+	}
+
+	/**
+	 * A handler for received screen requests.
+	 *
+	 * @param <Q> the request data type
+	 * @param <R> the response data type
+	 * @since 15.0.0
+	 */
+	@FunctionalInterface
+	interface RequestHandler<Q, R> {
+		/**
+		 * Handles a received screen request.
+		 *
+		 * <p>Handlers that compute their response immediately can return
+		 * {@link CompletableFuture#completedFuture(Object)}.
+		 *
+		 * @param request the request data
+		 * @return a future that completes with the response
+		 */
+		CompletableFuture<R> handle(Q request);
+	}
+
 	/**
 	 * A listener for {@link #getReadyEvent()}.
 	 */
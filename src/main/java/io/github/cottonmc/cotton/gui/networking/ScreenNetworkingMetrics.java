@@ -0,0 +1,105 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.impl.ScreenNetworkingMetricsImpl;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counters for the screen messages sent and received on one side of the connection,
+ * collected per message ID over all screen handlers.
+ *
+ * <p>The metrics can be used to find out which screen messages cause the most network traffic
+ * or spend the most time in their receivers. They are collected since the game was started
+ * or since the last {@linkplain #reset() reset}.
+ *
+ * <p>If the {@code libgui.logNetworkMetrics} system property is set to {@code true},
+ * the metrics are {@linkplain #log() logged} when the server or the client stops.
+ *
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface ScreenNetworkingMetrics {
+	/**
+	 * The upper bounds of the {@linkplain MessageMetrics#getHandlerTimeHistogram() handler time histogram} buckets
+	 * in nanoseconds: 10 µs, 100 µs, 1 ms and 10 ms. The last bucket contains all slower handler calls.
+	 */
+	List<Long> HANDLER_TIME_BUCKET_LIMITS = List.of(10_000L, 100_000L, 1_000_000L, 10_000_000L);
+
+	/**
+	 * {@return the metrics of the specified side}
+	 *
+	 * @param side the network side
+	 */
+	static ScreenNetworkingMetrics get(NetworkSide side) {
+		return ScreenNetworkingMetricsImpl.get(side);
+	}
+
+	/**
+	 * {@return a snapshot of the metrics of all messages, sorted by message ID}
+	 */
+	Map<Identifier, MessageMetrics> getAll();
+
+	/**
+	 * {@return a snapshot of the metrics of a message, or {@code null} if the message hasn't been sent or received}
+	 *
+	 * @param message the message ID
+	 */
+	@Nullable MessageMetrics get(Identifier message);
+
+	/**
+	 * Resets all counters.
+	 */
+	void reset();
+
+	/**
+	 * Logs a summary of the metrics, sorted by the total number of bytes sent and received.
+	 */
+	void log();
+
+	/**
+	 * The metrics of a single message ID.
+	 */
+	@ApiStatus.NonExtendable
+	interface MessageMetrics {
+		/**
+		 * {@return the number of sent messages}
+		 */
+		long getMessagesSent();
+
+		/**
+		 * {@return the number of encoded bytes in sent messages}
+		 */
+		long getBytesSent();
+
+		/**
+		 * {@return the number of received messages}
+		 */
+		long getMessagesReceived();
+
+		/**
+		 * {@return the number of encoded bytes in received messages}
+		 */
+		long getBytesReceived();
+
+		/**
+		 * {@return the number of received messages that could not be decoded}
+		 */
+		long getDecodeFailures();
+
+		/**
+		 * {@return the total time spent in message receivers in nanoseconds}
+		 */
+		long getHandlerTimeNanos();
+
+		/**
+		 * {@return the number of receiver calls in each handler time bucket}
+		 * The array has one more element than there are {@linkplain #HANDLER_TIME_BUCKET_LIMITS bucket limits}.
+		 */
+		long[] getHandlerTimeHistogram();
+	}
+}
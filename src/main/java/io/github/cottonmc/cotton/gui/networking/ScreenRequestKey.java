@@ -0,0 +1,29 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import net.minecraft.network.RegistryByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.util.Identifier;
+
+import java.util.Objects;
+
+/**
+ * Contains the ID and codecs of a screen request, which is a message that the other side answers with a response.
+ *
+ * <p>Codec-based data can be used with {@link net.minecraft.network.codec.PacketCodecs#registryCodec}.
+ *
+ * @param id            the request id
+ * @param requestCodec  the packet codec used to encode and decode request data
+ * @param responseCodec the packet codec used to encode and decode response data
+ * @param <Q>           the request data type
+ * @param <R>           the response data type
+ * @see ScreenNetworking#request(ScreenRequestKey, Object)
+ * @see ScreenNetworking#respond(ScreenRequestKey, ScreenNetworking.RequestHandler)
+ * @since 15.0.0
+ */
+public record ScreenRequestKey<Q, R>(Identifier id, PacketCodec<? super RegistryByteBuf, Q> requestCodec, PacketCodec<? super RegistryByteBuf, R> responseCodec) {
+	public ScreenRequestKey {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(requestCodec, "requestCodec");
+		Objects.requireNonNull(responseCodec, "responseCodec");
+	}
+}
@@ -0,0 +1,54 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import io.github.cottonmc.cotton.gui.impl.SharedDataSlotSourceImpl;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A server-side value that is synced to the shared data slots of all screens viewing it.
+ *
+ * <p>Shared data slot sources are stored in the object backing the screens, such as a block entity.
+ * Each change is encoded once and the same encoded message is sent to every viewer,
+ * so the encoding cost doesn't depend on the number of players viewing the screen.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // In the block entity:
+ * public final SharedDataSlotSource<MachineStatus> status = SharedDataSlotSource.create(MachineStatus.IDLE);
+ *
+ * // In the GUI description constructor, the block entity is null on the client:
+ * DataSlot<MachineStatus> status = registerSharedDataSlot(
+ *     STATUS_KEY,
+ *     MachineStatus.IDLE,
+ *     blockEntity != null ? blockEntity.status : null
+ * );
+ * }
+ *
+ * @param <T> the value type
+ * @see io.github.cottonmc.cotton.gui.SyncedGuiDescription#registerSharedDataSlot(ScreenMessageKey, Object, SharedDataSlotSource)
+ * @since 15.0.0
+ */
+@ApiStatus.NonExtendable
+public interface SharedDataSlotSource<T> {
+	/**
+	 * Creates a shared data slot source.
+	 *
+	 * @param initialValue the initial value
+	 * @param <T> the value type
+	 * @return the created source
+	 */
+	static <T> SharedDataSlotSource<T> create(T initialValue) {
+		return new SharedDataSlotSourceImpl<>(initialValue);
+	}
+
+	/**
+	 * {@return the current value}
+	 */
+	T get();
+
+	/**
+	 * Sets the current value. The value is synced to all attached data slots on the next tick.
+	 *
+	 * @param value the new value
+	 */
+	void set(T value);
+}
@@ -0,0 +1,154 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * A sync policy limits how often a {@link DataSlot} sends updates.
+ *
+ * <p>Updates that are held back by the policy are not lost: only the latest value is sent once
+ * the policy allows it. In particular, values that are held back by a {@linkplain #threshold threshold}
+ * are sent after the value has stayed the same for {@value #SETTLE_TICKS} ticks, so the final value
+ * is always delivered.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // Sync the energy level at most 4 times a second, or when it changes by more than 1%.
+ * DataSlot<Long> energy = registerDataSlot(ENERGY_KEY, 0L)
+ *     .setSyncPolicy(SyncPolicy.<Long>maxUpdatesPerSecond(4).withThreshold(SyncPolicy.relativeChange(0.01)));
+ * }
+ *
+ * @param <T> the data slot content type
+ * @since 15.0.0
+ */
+public final class SyncPolicy<T> {
+	/**
+	 * The number of ticks a value must stay unchanged before it's sent
+	 * even if the change is below the {@linkplain #threshold threshold}.
+	 */
+	public static final int SETTLE_TICKS = 20;
+	private static final int TICKS_PER_SECOND = 20;
+	private static final SyncPolicy<?> EVERY_TICK = new SyncPolicy<>(1, null);
+
+	private final int minInterval;
+	private final @Nullable BiPredicate<? super T, ? super T> threshold;
+
+	private SyncPolicy(int minInterval, @Nullable BiPredicate<? super T, ? super T> threshold) {
+		this.minInterval = minInterval;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * {@return a sync policy that sends every change on the next tick}
+	 * This is the default policy.
+	 *
+	 * @param <T> the data slot content type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> SyncPolicy<T> everyTick() {
+		return (SyncPolicy<T>) EVERY_TICK;
+	}
+
+	/**
+	 * Creates a sync policy that waits at least the specified number of ticks between updates.
+	 *
+	 * @param ticks the minimum number of ticks between updates, must be positive
+	 * @param <T> the data slot content type
+	 * @return the created policy
+	 * @throws IllegalArgumentException if the tick count is not positive
+	 */
+	public static <T> SyncPolicy<T> minInterval(int ticks) {
+		if (ticks <= 0) {
+			throw new IllegalArgumentException("Minimum interval must be positive, found " + ticks);
+		}
+
+		return new SyncPolicy<>(ticks, null);
+	}
+
+	/**
+	 * Creates a sync policy that sends at most the specified number of updates per second.
+	 *
+	 * @param updates the maximum number of updates per second, must be positive
+	 * @param <T> the data slot content type
+	 * @return the created policy
+	 * @throws IllegalArgumentException if the update count is not positive
+	 */
+	public static <T> SyncPolicy<T> maxUpdatesPerSecond(int updates) {
+		if (updates <= 0) {
+			throw new IllegalArgumentException("Update count must be positive, found " + updates);
+		}
+
+		return minInterval(Math.max(1, (TICKS_PER_SECOND + updates - 1) / updates));
+	}
+
+	/**
+	 * Creates a sync policy that only sends significant changes immediately.
+	 *
+	 * @param significantChange a predicate that tests whether the change from the last sent value
+	 *                          (the first parameter) to the current value (the second parameter) is significant
+	 * @param <T> the data slot content type
+	 * @return the created policy
+	 */
+	public static <T> SyncPolicy<T> threshold(BiPredicate<? super T, ? super T> significantChange) {
+		return new SyncPolicy<>(1, Objects.requireNonNull(significantChange, "significantChange"));
+	}
+
+	/**
+	 * Creates a predicate for {@link #threshold} that tests whether a number
+	 * has changed by more than a fraction of its previous value.
+	 * Changes from zero are always significant.
+	 *
+	 * @param fraction the fraction of the previous value, for example {@code 0.01} for 1%
+	 * @param <N> the number type
+	 * @return the created predicate
+	 */
+	public static <N extends Number> BiPredicate<N, N> relativeChange(double fraction) {
+		return (from, to) -> {
+			double previous = from.doubleValue();
+			return Math.abs(to.doubleValue() - previous) > Math.abs(previous) * fraction;
+		};
+	}
+
+	/**
+	 * Returns a copy of this policy with a minimum interval between updates.
+	 *
+	 * @param ticks the minimum number of ticks between updates, must be positive
+	 * @return the new policy
+	 * @throws IllegalArgumentException if the tick count is not positive
+	 */
+	public SyncPolicy<T> withMinInterval(int ticks) {
+		return new SyncPolicy<>(SyncPolicy.<T>minInterval(ticks).minInterval, threshold);
+	}
+
+	/**
+	 * Returns a copy of this policy with a significant change threshold.
+	 *
+	 * @param significantChange the significant change predicate
+	 * @return the new policy
+	 * @see #threshold(BiPredicate)
+	 */
+	public SyncPolicy<T> withThreshold(BiPredicate<? super T, ? super T> significantChange) {
+		return new SyncPolicy<>(minInterval, Objects.requireNonNull(significantChange, "significantChange"));
+	}
+
+	/**
+	 * {@return the minimum number of ticks between updates}
+	 */
+	public int getMinInterval() {
+		return minInterval;
+	}
+
+	/**
+	 * Tests whether a change is significant enough to be sent immediately.
+	 * If this policy has no threshold, all changes are significant.
+	 *
+	 * @param from the last sent value
+	 * @param to   the current value
+	 * @return {@code true} if the change is significant, {@code false} otherwise
+	 */
+	public boolean isSignificantChange(T from, T to) {
+		return threshold == null || threshold.test(from, to);
+	}
+}
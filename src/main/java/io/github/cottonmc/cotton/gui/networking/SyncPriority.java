@@ -0,0 +1,27 @@
+package io.github.cottonmc.cotton.gui.networking;
+
+/**
+ * The sync priority of a {@link DataSlot}.
+ *
+ * <p>Priorities are used when a {@linkplain ScreenNetworking#setTickByteBudget(int) byte budget}
+ * limits the amount of data sent per tick. Data slots are sent in priority order,
+ * and updates that don't fit in the budget are deferred to later ticks.
+ * Only the latest value of a deferred data slot is sent.
+ *
+ * @since 15.0.0
+ */
+public enum SyncPriority {
+	/**
+	 * Always sent, even if the byte budget has been exceeded.
+	 * Use this for values that need to be up to date, like progress bars.
+	 */
+	HIGH,
+	/**
+	 * Sent if the byte budget allows it. This is the default priority.
+	 */
+	NORMAL,
+	/**
+	 * Sent if the byte budget allows it after all higher-priority updates have been sent.
+	 */
+	LOW
+}
@@ -0,0 +1,262 @@
+package io.github.cottonmc.cotton.gui.widget;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A search index for the stacks in an {@link WItemSlot}.
+ *
+ * <p>Each slot is indexed by the words of its stack's name and item ID.
+ * The index is updated through {@linkplain WItemSlot#addCoalescedChangeListener coalesced change listeners},
+ * so only the changed slots are reindexed. Queries look up the matching words in the index
+ * instead of reading every stack, which keeps them cheap even for thousands of slots.
+ *
+ * <p>A query consists of words separated by whitespace. A slot matches a query
+ * if each query word matches a word of the slot's stack, depending on the {@linkplain MatchMode match mode}.
+ * Slots are identified by their position in the slot widget, starting from 0.
+ *
+ * <p>The index only sees changes that are reported with {@link net.minecraft.screen.slot.Slot#markDirty()}.
+ * On the client, all synced slot changes are reported. On the server, {@link #rebuild()} can be used
+ * after modifying stacks in place.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * WItemSlot storage = WItemSlot.of(blockInventory, 0, 9, 6);
+ * ItemSlotSearch search = storage.enableSearch();
+ *
+ * WTextField searchField = new WTextField(Text.literal("Search..."));
+ * searchField.setChangedListener(search::setQuery);
+ * }
+ *
+ * @see WItemSlot#enableSearch()
+ * @since 15.0.0
+ */
+public final class ItemSlotSearch {
+	private static final String[] NO_WORDS = new String[0];
+
+	private final WItemSlot slot;
+	private final int slotCount;
+	private final String[][] slotWords;
+	// Maps each indexed word to the positions of the slots containing it
+	private final TreeMap<String, IntSet> postings = new TreeMap<>();
+	private final BitSet matches = new BitSet();
+	private final BitSet wordMatches = new BitSet();
+	private MatchMode matchMode = MatchMode.SUBSTRING;
+	private String[] queryWords = NO_WORDS;
+
+	ItemSlotSearch(WItemSlot slot) {
+		this.slot = slot;
+		this.slotCount = slot.getSlotsWide() * slot.getSlotsHigh();
+		this.slotWords = new String[slotCount][];
+		rebuild();
+
+		slot.addCoalescedChangeListener((s, inventory, indices) -> {
+			for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+				update(i - s.getStartIndex());
+			}
+		});
+	}
+
+	/**
+	 * Reindexes all slots.
+	 */
+	public void rebuild() {
+		postings.clear();
+
+		for (int i = 0; i < slotCount; i++) {
+			slotWords[i] = NO_WORDS;
+			update(i);
+		}
+
+		updateMatches();
+	}
+
+	private void update(int position) {
+		if (position < 0 || position >= slotCount) return;
+
+		for (String word : slotWords[position]) {
+			IntSet positions = postings.get(word);
+
+			if (positions != null) {
+				positions.remove(position);
+				if (positions.isEmpty()) postings.remove(word);
+			}
+		}
+
+		String[] words = getWords(slot.getInventory().getStack(slot.getStartIndex() + position));
+		slotWords[position] = words;
+
+		for (String word : words) {
+			IntSet positions = postings.get(word);
+
+			if (positions == null) {
+				positions = new IntOpenHashSet();
+				postings.put(word, positions);
+			}
+
+			positions.add(position);
+		}
+
+		if (hasQuery()) matches.set(position, matchesQuery(words));
+	}
+
+	private static String[] getWords(ItemStack stack) {
+		if (stack.isEmpty()) return NO_WORDS;
+
+		Set<String> words = new ObjectLinkedOpenHashSet<>();
+		addWords(words, stack.getName().getString());
+		Identifier id = Registries.ITEM.getId(stack.getItem());
+		words.add(id.getNamespace().toLowerCase(Locale.ROOT));
+		addWords(words, id.getPath());
+		return words.toArray(NO_WORDS);
+	}
+
+	private static void addWords(Set<String> words, String text) {
+		for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) words.add(word);
+		}
+	}
+
+	private boolean matchesQuery(String[] words) {
+		for (String queryWord : queryWords) {
+			boolean found = false;
+
+			for (String word : words) {
+				if (matchMode.matches(word, queryWord)) {
+					found = true;
+					break;
+				}
+			}
+
+			if (!found) return false;
+		}
+
+		return true;
+	}
+
+	private void updateMatches() {
+		matches.clear();
+		if (!hasQuery()) return;
+
+		matches.set(0, slotCount);
+
+		for (String queryWord : queryWords) {
+			wordMatches.clear();
+
+			// Only the distinct words are scanned, not the slots
+			Map<String, IntSet> candidates = matchMode == MatchMode.PREFIX
+					? postings.subMap(queryWord, true, queryWord + Character.MAX_VALUE, false)
+					: postings;
+
+			for (Map.Entry<String, IntSet> entry : candidates.entrySet()) {
+				if (matchMode.matches(entry.getKey(), queryWord)) {
+					for (IntIterator it = entry.getValue().iterator(); it.hasNext();) {
+						wordMatches.set(it.nextInt());
+					}
+				}
+			}
+
+			matches.and(wordMatches);
+		}
+	}
+
+	/**
+	 * {@return the current query, or an empty string if there's no query}
+	 */
+	public String getQuery() {
+		return String.join(" ", queryWords);
+	}
+
+	/**
+	 * Sets the current query. Blank queries match all slots.
+	 *
+	 * @param query the new query
+	 */
+	public void setQuery(String query) {
+		Objects.requireNonNull(query, "query");
+		String trimmed = query.trim().toLowerCase(Locale.ROOT);
+		queryWords = trimmed.isEmpty() ? NO_WORDS : trimmed.split("\\s+");
+		updateMatches();
+	}
+
+	/**
+	 * {@return whether this search has a non-blank query}
+	 */
+	public boolean hasQuery() {
+		return queryWords.length > 0;
+	}
+
+	/**
+	 * {@return the match mode of query words}
+	 */
+	public MatchMode getMatchMode() {
+		return matchMode;
+	}
+
+	/**
+	 * Sets the match mode of query words.
+	 *
+	 * @param matchMode the new match mode
+	 */
+	public void setMatchMode(MatchMode matchMode) {
+		this.matchMode = Objects.requireNonNull(matchMode, "matchMode");
+		updateMatches();
+	}
+
+	/**
+	 * Tests whether a slot matches the current query.
+	 * If there's no query, all slots match.
+	 *
+	 * @param position the position of the slot in the slot widget
+	 * @return {@code true} if the slot matches, {@code false} otherwise
+	 */
+	public boolean isMatch(int position) {
+		return !hasQuery() || matches.get(position);
+	}
+
+	/**
+	 * {@return a new bit set containing the positions of the slots matching the current query}
+	 * If there's no query, all slots match.
+	 */
+	public BitSet getMatches() {
+		if (!hasQuery()) {
+			BitSet all = new BitSet(slotCount);
+			all.set(0, slotCount);
+			return all;
+		}
+
+		return (BitSet) matches.clone();
+	}
+
+	/**
+	 * The ways query words can match indexed words.
+	 */
+	public enum MatchMode {
+		/**
+		 * Query words match indexed words that start with them.
+		 */
+		PREFIX,
+
+		/**
+		 * Query words match indexed words that contain them.
+		 */
+		SUBSTRING;
+
+		boolean matches(String word, String queryWord) {
+			return this == PREFIX ? word.startsWith(queryWord) : word.contains(queryWord);
+		}
+	}
+}
@@ -9,12 +9,14 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 
 import io.github.cottonmc.cotton.gui.GuiDescription;
+import io.github.cottonmc.cotton.gui.WidePropertyDelegate;
 import io.github.cottonmc.cotton.gui.client.ScreenDrawing;
 import io.github.cottonmc.cotton.gui.widget.data.Texture;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * A bar that displays int values from a {@link PropertyDelegate}.
+ * If the property delegate is a {@link WidePropertyDelegate}, its {@code long} values are used.
  *
  * <p>Bars can be used for all kinds of bars including
  * progress bars (and progress arrows) and energy bars.
@@ -144,8 +146,8 @@ public class WBar extends WWidget {
 			ScreenDrawing.coloredRect(context, x, y, getWidth(), getHeight(), ScreenDrawing.colorAtOpacity(0x000000, 0.25f));
 		}
 
-		int maxVal = max >= 0 ? properties.get(max) : maxValue;
-		float percent = properties.get(field) / (float) maxVal;
+		long maxVal = max >= 0 ? getProperty(max) : maxValue;
+		float percent = (float) (getProperty(field) / (double) maxVal);
 		if (percent < 0) percent = 0f;
 		if (percent > 1) percent = 1f;
 
@@ -205,8 +207,8 @@ public class WBar extends WWidget {
 	@Override
 	public void addTooltip(TooltipBuilder information) {
 		if (tooltipLabel != null) {
-			int value = (field >= 0) ? properties.get(field) : 0;
-			int valMax = (max >= 0) ? properties.get(max) : maxValue;
+			long value = (field >= 0) ? getProperty(field) : 0;
+			long valMax = (max >= 0) ? getProperty(max) : maxValue;
 			information.add(Text.translatable(tooltipLabel, value, valMax));
 		}
 		if (tooltipTextComponent != null) {
@@ -218,6 +220,10 @@ public class WBar extends WWidget {
 		}
 	}
 
+	private long getProperty(int index) {
+		return properties instanceof WidePropertyDelegate wide ? wide.getLong(index) : properties.get(index);
+	}
+
 	@Override
 	public void validate(GuiDescription host) {
 		super.validate(host);
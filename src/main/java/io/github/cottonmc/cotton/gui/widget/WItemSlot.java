@@ -16,8 +16,10 @@ import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
 import io.github.cottonmc.cotton.gui.GuiDescription;
+import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
 import io.github.cottonmc.cotton.gui.ValidatedSlot;
 import io.github.cottonmc.cotton.gui.client.BackgroundPainter;
+import io.github.cottonmc.cotton.gui.client.ScreenDrawing;
 import io.github.cottonmc.cotton.gui.impl.LibGuiCommon;
 import io.github.cottonmc.cotton.gui.impl.VisualLogger;
 import io.github.cottonmc.cotton.gui.impl.client.NarrationMessages;
@@ -30,6 +32,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -62,6 +65,9 @@ import java.util.stream.Stream;
  * }
  * </pre>
  *
+ * <p>Filters that are expensive to test, such as ones checking recipes, can be
+ * {@linkplain io.github.cottonmc.cotton.gui.MemoizedItemFilter memoized}.
+ *
  * <h2>Listeners</h2>
  * Slot change listeners are instances of {@link WItemSlot.ChangeListener} that can handle changes
  * to item stacks in slots. For example:
@@ -75,6 +81,13 @@ import java.util.stream.Stream;
  * });
  * }
  * </pre>
+ *
+ * <p>{@linkplain #addCoalescedChangeListener(CoalescedChangeListener) Coalesced change listeners} receive
+ * all changes of a tick at once, which is cheaper for slots that change often.
+ *
+ * <h2>Search</h2>
+ * Slot widgets can {@linkplain #enableSearch() maintain a search index} of their stacks.
+ * Slots matching the search query are highlighted.
  */
 public class WItemSlot extends WWidget {
 	/**
@@ -84,6 +97,13 @@ public class WItemSlot extends WWidget {
 	 */
 	public static final Identifier SLOT_TEXTURE = LibGuiCommon.id("textures/widget/item_slot.png");
 
+	/**
+	 * The color of the highlight drawn behind slots matching the {@linkplain #enableSearch() search} query.
+	 *
+	 * @since 15.0.0
+	 */
+	public static final int SEARCH_HIGHLIGHT_COLOR = 0x8000_FF00;
+
 	private static final VisualLogger LOGGER = new VisualLogger(WItemSlot.class);
 	private final List<ValidatedSlot> peers = new ArrayList<>();
 	@Nullable
@@ -104,6 +124,12 @@ public class WItemSlot extends WWidget {
 	private Predicate<ItemStack> inputFilter = ValidatedSlot.DEFAULT_ITEM_FILTER;
 	private Predicate<ItemStack> outputFilter = ValidatedSlot.DEFAULT_ITEM_FILTER;
 	private final Set<ChangeListener> listeners = new HashSet<>();
+	private final List<CoalescedChangeListener> coalescedListeners = new ArrayList<>(0);
+	private final ChangeListener coalescingListener = (slot, inventory, index, stack) -> queueChange(index);
+	private final Runnable flushChangesTask = this::flushChanges;
+	private final BitSet pendingChanges = new BitSet();
+	private boolean changesQueued = false;
+	private @Nullable ItemSlotSearch search = null;
 	private final FocusModel<Integer> focusModel = new FocusModel<>() {
 		@Override
 		public boolean isFocused(Focus<Integer> focus) {
@@ -396,30 +422,59 @@ public class WItemSlot extends WWidget {
 		return focusedSlot;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>If this slot widget has already been validated with the same host, the existing slot peers
+	 * are moved to the new positions instead of being recreated. They keep their filters and listeners.
+	 */
 	@Override
 	public void validate(GuiDescription host) {
+		boolean reusePeers = canReusePeers(host);
 		super.validate(host);
-		peers.clear();
+		if (!reusePeers) peers.clear();
 		int index = startIndex;
+		int peerIndex = 0;
 		
 		for (int y = 0; y < slotsHigh; y++) {
 			for (int x = 0; x < slotsWide; x++) {
 				// The Slot object is offset +1 because it's the inner area of the slot.
-				ValidatedSlot slot = createSlotPeer(inventory, index, this.getAbsoluteX() + (x * 18) + 1, this.getAbsoluteY() + (y * 18) + 1);
-				slot.setInsertingAllowed(insertingAllowed);
-				slot.setTakingAllowed(takingAllowed);
-				slot.setInputFilter(inputFilter);
-				slot.setOutputFilter(outputFilter);
-				for (ChangeListener listener : listeners) {
-					slot.addChangeListener(this, listener);
+				int slotX = this.getAbsoluteX() + (x * 18) + 1;
+				int slotY = this.getAbsoluteY() + (y * 18) + 1;
+				ValidatedSlot slot;
+
+				if (reusePeers) {
+					slot = peers.get(peerIndex);
+					slot.setPosition(slotX, slotY);
+				} else {
+					slot = createSlotPeer(inventory, index, slotX, slotY);
+					slot.setInsertingAllowed(insertingAllowed);
+					slot.setTakingAllowed(takingAllowed);
+					slot.setInputFilter(inputFilter);
+					slot.setOutputFilter(outputFilter);
+					for (ChangeListener listener : listeners) {
+						slot.addChangeListener(this, listener);
+					}
+					if (!coalescedListeners.isEmpty()) {
+						slot.addChangeListener(this, coalescingListener);
+					}
+					peers.add(slot);
 				}
-				peers.add(slot);
+
 				host.addSlotPeer(slot);
 				index++;
+				peerIndex++;
 			}
 		}
 	}
 
+	private boolean canReusePeers(GuiDescription newHost) {
+		if (peers.isEmpty() || host != newHost || peers.size() != slotsWide * slotsHigh) return false;
+
+		ValidatedSlot first = peers.getFirst();
+		return first.inventory == inventory && first.getInventoryIndex() == startIndex;
+	}
+
 	@Environment(EnvType.CLIENT)
 	@Override
 	public InputResult onKeyPressed(KeyInput input) {
@@ -502,6 +557,9 @@ public class WItemSlot extends WWidget {
 	/**
 	 * Sets the item input filter of this item slot.
 	 *
+	 * <p>The filter is shared by all slot peers of this widget. Expensive filters
+	 * can be wrapped in a {@link io.github.cottonmc.cotton.gui.MemoizedItemFilter}.
+	 *
 	 * @param inputFilter the new item input filter
 	 * @return this item slot
 	 * @since 8.1.0
@@ -549,6 +607,36 @@ public class WItemSlot extends WWidget {
 		if (icon != null && (!iconOnlyPaintedForEmptySlots || inventory.getStack(startIndex).isEmpty())) {
 			icon.paint(context, x + 1, y + 1, 16);
 		}
+
+		if (search != null && search.hasQuery()) {
+			for (int i = 0; i < slotsWide * slotsHigh; i++) {
+				if (search.isMatch(i)) ScreenDrawing.coloredRect(context, x + (i % slotsWide) * 18 + 1, y + (i / slotsWide) * 18 + 1, 16, 16, SEARCH_HIGHLIGHT_COLOR);
+			}
+		}
+	}
+
+	/**
+	 * Enables the search index of this slot widget.
+	 * If it's already enabled, returns the existing index.
+	 *
+	 * <p>The slots matching the search query are highlighted.
+	 *
+	 * @return the search index
+	 * @see ItemSlotSearch
+	 * @since 15.0.0
+	 */
+	public ItemSlotSearch enableSearch() {
+		if (search == null) search = new ItemSlotSearch(this);
+		return search;
+	}
+
+	/**
+	 * {@return the search index of this slot widget, or null if {@linkplain #enableSearch() not enabled}}
+	 *
+	 * @since 15.0.0
+	 */
+	public @Nullable ItemSlotSearch getSearch() {
+		return search;
 	}
 
 	@Nullable
@@ -579,6 +667,60 @@ public class WItemSlot extends WWidget {
 		}
 	}
 
+	/**
+	 * Adds a coalesced change listener to this slot.
+	 * Does nothing if the listener is already registered.
+	 *
+	 * <p>Coalesced listeners receive all changes of a tick at once at the end of the tick,
+	 * even if a slot changed multiple times. They should be preferred over {@linkplain #addChangeListener
+	 * regular change listeners} for expensive work, such as updating recipe previews, in slots
+	 * that can change frequently, for example due to hoppers.
+	 *
+	 * <p>If this slot isn't in a {@link SyncedGuiDescription}, changes are delivered immediately.
+	 *
+	 * @param listener the added listener
+	 * @throws NullPointerException if the listener is null
+	 * @see SyncedGuiDescription#runAtEndOfTick(Runnable)
+	 * @since 15.0.0
+	 */
+	public void addCoalescedChangeListener(CoalescedChangeListener listener) {
+		Objects.requireNonNull(listener, "listener");
+		if (coalescedListeners.contains(listener)) return;
+		coalescedListeners.add(listener);
+
+		if (coalescedListeners.size() == 1) {
+			for (ValidatedSlot peer : peers) {
+				peer.addChangeListener(this, coalescingListener);
+			}
+		}
+	}
+
+	private void queueChange(int index) {
+		pendingChanges.set(index);
+
+		if (!changesQueued) {
+			if (host instanceof SyncedGuiDescription description) {
+				changesQueued = true;
+				description.runAtEndOfTick(flushChangesTask);
+			} else {
+				flushChanges();
+			}
+		}
+	}
+
+	private void flushChanges() {
+		changesQueued = false;
+		if (pendingChanges.isEmpty()) return;
+
+		try {
+			for (int i = 0; i < coalescedListeners.size(); i++) {
+				coalescedListeners.get(i).onStacksChanged(this, inventory, pendingChanges);
+			}
+		} finally {
+			pendingChanges.clear();
+		}
+	}
+
 	@Override
 	public void onShown() {
 		for (ValidatedSlot peer : peers) {
@@ -654,4 +796,25 @@ public class WItemSlot extends WWidget {
 		 */
 		void onStackChanged(WItemSlot slot, Inventory inventory, int index, ItemStack stack);
 	}
+
+	/**
+	 * A listener for changes in an item slot that receives all changes of a tick at once.
+	 *
+	 * @see #addCoalescedChangeListener(CoalescedChangeListener)
+	 * @since 15.0.0
+	 */
+	@FunctionalInterface
+	public interface CoalescedChangeListener {
+		/**
+		 * Handles changed item stacks in an item slot.
+		 *
+		 * <p>The index set is reused for later changes, so it should not be
+		 * modified or stored outside this method.
+		 *
+		 * @param slot      the item slot widget
+		 * @param inventory the item inventory of the slot
+		 * @param indices   the indices of the changed slots in the inventory
+		 */
+		void onStacksChanged(WItemSlot slot, Inventory inventory, BitSet indices);
+	}
 }
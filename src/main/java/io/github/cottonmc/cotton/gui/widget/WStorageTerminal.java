@@ -0,0 +1,350 @@
+package io.github.cottonmc.cotton.gui.widget;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.Click;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+
+import io.github.cottonmc.cotton.gui.StorageTerminalProvider;
+import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
+import io.github.cottonmc.cotton.gui.client.ScreenDrawing;
+import io.github.cottonmc.cotton.gui.impl.StorageTerminalMessages;
+import io.github.cottonmc.cotton.gui.impl.StorageTerminalSession;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.widget.data.Axis;
+import io.github.cottonmc.cotton.gui.widget.data.InputResult;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A terminal widget for viewing and accessing large item storages, such as storage networks.
+ *
+ * <p>Storage terminals don't use slots. The server searches and sorts the entries of a {@link StorageTerminalProvider}
+ * and only sends the entries in the visible window to the client, as changes to the previously sent entries.
+ * The client sends its query (the search text, the sort key and the scroll position) to the server,
+ * and clicks on the entries are sent to the server as messages to extract or insert items.
+ * Neither side creates slots or a full list of the entries on the client.
+ *
+ * <p>Clicking an entry takes a stack to the cursor, right-clicking takes half a stack,
+ * and shift-clicking moves a stack to the player inventory. Clicking with a stack on the cursor inserts it.
+ *
+ * <p>The terminal must be constructed with the same ID and size on both sides.
+ * Its ID is used to derive the IDs of its screen messages, so it must be unique in the GUI.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // In a SyncedGuiDescription constructor; the provider is only needed on the server
+ * StorageTerminalProvider provider = world.isClient() ? null : getStorageNetwork(context);
+ * WStorageTerminal terminal = new WStorageTerminal(this, Identifier.of("my_mod", "terminal"), provider, 9, 6);
+ * root.add(terminal, 0, 1);
+ * }
+ *
+ * @since 15.0.0
+ */
+public class WStorageTerminal extends WPlainPanel {
+	private static final int HEADER_HEIGHT = 22;
+	private static final int SORT_BUTTON_WIDTH = 30;
+
+	private final SyncedGuiDescription description;
+	private final StorageTerminalMessages.Keys keys;
+	private final int columns;
+	private final int visibleRows;
+	private final ItemStack[] visibleKeys;
+	private final long[] visibleAmounts;
+	private int totalEntries = 0;
+	private String search = "";
+	private SortKey sortKey = SortKey.NAME;
+	private int firstRow = 0;
+
+	/**
+	 * The search field of this terminal.
+	 */
+	protected final WTextField searchField = new WTextField(Text.translatable("widget.libgui.storage_terminal.search"));
+
+	/**
+	 * The button that cycles the sort key of this terminal.
+	 */
+	protected final WButton sortButton = new WButton(sortKey.getLabel());
+
+	/**
+	 * The scroll bar of this terminal.
+	 */
+	protected final WScrollBar scrollBar = new WScrollBar(Axis.VERTICAL);
+
+	/**
+	 * Constructs a storage terminal.
+	 *
+	 * @param description the GUI description containing this terminal
+	 * @param id          the unique ID of this terminal in the GUI
+	 * @param provider    the storage provider, required on the server and ignored on the client
+	 * @param columns     the number of entry columns, must be positive
+	 * @param visibleRows the number of visible entry rows, must be positive
+	 * @throws IllegalArgumentException if the number of columns or rows is not positive, or if there are more than
+	 *                                  {@value StorageTerminalMessages#MAX_ROW_UPDATES} visible entries
+	 * @throws NullPointerException     if the provider is null on the server
+	 */
+	public WStorageTerminal(SyncedGuiDescription description, Identifier id, @Nullable StorageTerminalProvider provider, int columns, int visibleRows) {
+		if (columns <= 0) throw new IllegalArgumentException("Number of columns must be positive, got " + columns);
+		if (visibleRows <= 0) throw new IllegalArgumentException("Number of rows must be positive, got " + visibleRows);
+		if ((long) columns * visibleRows > StorageTerminalMessages.MAX_ROW_UPDATES) {
+			throw new IllegalArgumentException("Too many visible entries: " + columns + "x" + visibleRows + " > " + StorageTerminalMessages.MAX_ROW_UPDATES);
+		}
+
+		this.description = description;
+		this.keys = StorageTerminalMessages.Keys.of(id);
+		this.columns = columns;
+		this.visibleRows = visibleRows;
+		this.visibleKeys = new ItemStack[columns * visibleRows];
+		this.visibleAmounts = new long[columns * visibleRows];
+		Arrays.fill(visibleKeys, ItemStack.EMPTY);
+
+		if (description.getNetworkSide() == NetworkSide.SERVER) {
+			Objects.requireNonNull(provider, "Provider cannot be null on the server");
+			// The session registers its own message receivers and end-of-tick updates
+			new StorageTerminalSession(description, provider, keys, columns, columns * visibleRows);
+		} else {
+			description.getNetworking(NetworkSide.CLIENT).receive(keys.rows(), this::applyRows);
+		}
+
+		searchField.setChangedListener(text -> {
+			search = text;
+			scrollBar.setValue(0);
+			firstRow = 0;
+			sendQuery();
+		});
+		sortButton.setOnClick(() -> {
+			sortKey = sortKey.next();
+			sortButton.setLabel(sortKey.getLabel());
+			sendQuery();
+		});
+
+		int gridWidth = columns * 18;
+		add(searchField, 0, 0, gridWidth - SORT_BUTTON_WIDTH - 2, 20);
+		add(sortButton, gridWidth - SORT_BUTTON_WIDTH, 0, SORT_BUTTON_WIDTH, 20);
+		add(new EntryGrid(), 0, HEADER_HEIGHT, gridWidth, visibleRows * 18);
+		add(scrollBar, gridWidth + 2, HEADER_HEIGHT, 8, visibleRows * 18);
+		scrollBar.setWindow(visibleRows);
+	}
+
+	@Override
+	public boolean canResize() {
+		return false;
+	}
+
+	/**
+	 * {@return the number of entry columns}
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * {@return the number of visible entry rows}
+	 */
+	public int getVisibleRows() {
+		return visibleRows;
+	}
+
+	/**
+	 * {@return the total number of entries matching the query, as last received from the server}
+	 */
+	public int getTotalEntries() {
+		return totalEntries;
+	}
+
+	/**
+	 * {@return the current sort key}
+	 */
+	public SortKey getSortKey() {
+		return sortKey;
+	}
+
+	private void sendQuery() {
+		if (description.getNetworkSide() != NetworkSide.CLIENT) return;
+		var query = new StorageTerminalMessages.Query(search, sortKey, firstRow * columns);
+		description.getNetworking(NetworkSide.CLIENT).send(keys.query(), query);
+	}
+
+	private void applyRows(StorageTerminalMessages.Rows rows) {
+		totalEntries = rows.totalEntries();
+
+		for (StorageTerminalMessages.RowUpdate update : rows.updates()) {
+			int position = update.position();
+
+			if (position >= 0 && position < visibleKeys.length) {
+				visibleKeys[position] = update.key();
+				visibleAmounts[position] = update.amount();
+			}
+		}
+
+		scrollBar.setMaxValue((totalEntries + columns - 1) / columns);
+
+		// The server clamps the offset to the results, for example when they shrink below the scrolled position
+		int row = rows.offset() / columns;
+
+		if (row != firstRow) {
+			firstRow = row;
+			scrollBar.setValue(row);
+		}
+	}
+
+	@Environment(EnvType.CLIENT)
+	@Override
+	public void tick() {
+		super.tick();
+		// The scroll bar value can change in many ways, so it's checked every tick
+		int row = scrollBar.getValue();
+
+		if (row != firstRow) {
+			firstRow = row;
+			sendQuery();
+		}
+	}
+
+	@Environment(EnvType.CLIENT)
+	@Override
+	public InputResult onMouseScroll(int x, int y, double horizontalAmount, double verticalAmount) {
+		return scrollBar.onMouseScroll(0, 0, 0, verticalAmount);
+	}
+
+	private static String formatAmount(long amount) {
+		if (amount < 1000) return Long.toString(amount);
+		if (amount < 1_000_000) return amount / 1000 + "k";
+		if (amount < 1_000_000_000) return amount / 1_000_000 + "M";
+		return amount / 1_000_000_000 + "G";
+	}
+
+	/**
+	 * The sort orders of storage terminal entries.
+	 */
+	public enum SortKey {
+		/**
+		 * Sorts entries alphabetically by name.
+		 */
+		NAME("name"),
+
+		/**
+		 * Sorts entries by amount, with the largest amounts first.
+		 */
+		AMOUNT("amount"),
+
+		/**
+		 * Sorts entries by item registry order.
+		 */
+		ID("id");
+
+		private final String translationKey;
+
+		SortKey(String name) {
+			this.translationKey = "widget.libgui.storage_terminal.sort." + name;
+		}
+
+		/**
+		 * {@return the short label of this sort key}
+		 */
+		public Text getLabel() {
+			return Text.translatable(translationKey);
+		}
+
+		private SortKey next() {
+			SortKey[] values = values();
+			return values[(ordinal() + 1) % values.length];
+		}
+	}
+
+	private final class EntryGrid extends WWidget {
+		private int hoveredPosition = -1;
+
+		EntryGrid() {
+			hoveredProperty().addListener((property, from, to) -> {
+				assert to != null;
+				if (!to) hoveredPosition = -1;
+			});
+		}
+
+		@Override
+		public boolean canResize() {
+			return false;
+		}
+
+		private int getPosition(int x, int y) {
+			if (!isWithinBounds(x, y)) return -1;
+			return (y / 18) * columns + x / 18;
+		}
+
+		@Environment(EnvType.CLIENT)
+		@Override
+		public void paint(DrawContext context, int x, int y, int mouseX, int mouseY) {
+			var textRenderer = MinecraftClient.getInstance().textRenderer;
+			float px = 1 / 64f;
+
+			for (int position = 0; position < visibleKeys.length; position++) {
+				int sx = x + (position % columns) * 18;
+				int sy = y + (position / columns) * 18;
+				ScreenDrawing.texturedRect(context, sx, sy, 18, 18, WItemSlot.SLOT_TEXTURE, 0, 0, 18 * px, 18 * px, 0xFF_FFFFFF);
+
+				ItemStack key = visibleKeys[position];
+
+				if (!key.isEmpty()) {
+					context.drawItemWithoutEntity(key, sx + 1, sy + 1);
+					context.drawStackOverlay(textRenderer, key, sx + 1, sy + 1, formatAmount(visibleAmounts[position]));
+				}
+
+				if (position == getPosition(mouseX, mouseY)) {
+					ScreenDrawing.coloredRect(context, sx + 1, sy + 1, 16, 16, 0x80_FFFFFF);
+				}
+			}
+		}
+
+		@Environment(EnvType.CLIENT)
+		@Override
+		public InputResult onMouseMove(int x, int y) {
+			hoveredPosition = getPosition(x, y);
+			return InputResult.PROCESSED;
+		}
+
+		@Environment(EnvType.CLIENT)
+		@Override
+		public InputResult onClick(Click click, boolean doubled) {
+			int position = getPosition((int) click.x(), (int) click.y());
+			if (position < 0 || position >= visibleKeys.length) return InputResult.IGNORED;
+
+			ItemStack key = visibleKeys[position];
+			StorageTerminalMessages.ActionType type;
+
+			if (!description.getCursorStack().isEmpty()) {
+				type = StorageTerminalMessages.ActionType.INSERT;
+			} else if (key.isEmpty()) {
+				return InputResult.IGNORED;
+			} else if (click.hasShift()) {
+				type = StorageTerminalMessages.ActionType.TAKE_TO_INVENTORY;
+			} else if (click.button() == 1) {
+				type = StorageTerminalMessages.ActionType.TAKE_HALF;
+			} else {
+				type = StorageTerminalMessages.ActionType.TAKE_STACK;
+			}
+
+			var action = new StorageTerminalMessages.Action(type, position, key);
+			description.getNetworking(NetworkSide.CLIENT).send(keys.action(), action);
+			return InputResult.PROCESSED;
+		}
+
+		@Environment(EnvType.CLIENT)
+		@Override
+		public void addTooltip(TooltipBuilder tooltip) {
+			if (hoveredPosition < 0 || hoveredPosition >= visibleKeys.length) return;
+			ItemStack key = visibleKeys[hoveredPosition];
+			if (key.isEmpty()) return;
+
+			tooltip.add(key.getName());
+			tooltip.add(Text.translatable("widget.libgui.storage_terminal.amount", String.format(Locale.ROOT, "%,d", visibleAmounts[hoveredPosition])));
+		}
+	}
+}
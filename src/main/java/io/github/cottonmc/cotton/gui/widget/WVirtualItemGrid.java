@@ -0,0 +1,162 @@
+package io.github.cottonmc.cotton.gui.widget;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.inventory.Inventory;
+
+import io.github.cottonmc.cotton.gui.GuiDescription;
+import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
+import io.github.cottonmc.cotton.gui.impl.WindowedInventory;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.widget.data.Axis;
+import io.github.cottonmc.cotton.gui.widget.data.InputResult;
+
+/**
+ * A scrollable grid of item slots for very large inventories.
+ *
+ * <p>Unlike a {@link WItemSlot} covering the whole inventory, this widget only creates
+ * slot peers for the visible rows. Scrolling moves the visible window of the inventory on the server,
+ * and only the slots in the window are synced. The memory use and the per-tick sync cost
+ * are the same regardless of the size of the inventory.
+ *
+ * <p>The inventory must have the same size on both sides. Other slot-based operations,
+ * such as shift-clicking items into the inventory and {@linkplain io.github.cottonmc.cotton.gui.BulkOperation
+ * bulk operations}, only see the visible window.
+ *
+ * <h2>Example</h2>
+ * {@snippet :
+ * // A grid of 9 by 6 slots for a storage inventory with thousands of stacks
+ * WVirtualItemGrid grid = new WVirtualItemGrid(storageInventory, 9, 6);
+ * root.add(grid, 0, 1);
+ * }
+ *
+ * @since 15.0.0
+ */
+public class WVirtualItemGrid extends WPlainPanel {
+	private final Inventory inventory;
+	private final WindowedInventory window;
+	private final int columns;
+	private final int visibleRows;
+	private int firstRow = 0;
+
+	/**
+	 * The item slot widget displaying the visible window.
+	 */
+	protected final WItemSlot slots;
+
+	/**
+	 * The scroll bar of this grid.
+	 */
+	protected final WScrollBar scrollBar = new WScrollBar(Axis.VERTICAL);
+
+	/**
+	 * Constructs a virtual item grid.
+	 *
+	 * @param inventory   the displayed inventory
+	 * @param columns     the number of slot columns, must be positive
+	 * @param visibleRows the number of visible slot rows, must be positive
+	 * @throws IllegalArgumentException if the number of columns or rows is not positive
+	 */
+	public WVirtualItemGrid(Inventory inventory, int columns, int visibleRows) {
+		if (columns <= 0) throw new IllegalArgumentException("Number of columns must be positive, got " + columns);
+		if (visibleRows <= 0) throw new IllegalArgumentException("Number of rows must be positive, got " + visibleRows);
+
+		this.inventory = inventory;
+		this.columns = columns;
+		this.visibleRows = visibleRows;
+		this.window = new WindowedInventory(inventory, columns * visibleRows, columns);
+		this.slots = new WItemSlot(window, 0, columns, visibleRows, false);
+
+		add(slots, 0, 0);
+		add(scrollBar, columns * 18 + 2, 0, 8, visibleRows * 18);
+		scrollBar.setWindow(visibleRows);
+		scrollBar.setMaxValue(getRowCount());
+	}
+
+	@Override
+	public boolean canResize() {
+		return false;
+	}
+
+	/**
+	 * {@return the displayed inventory}
+	 */
+	public Inventory getInventory() {
+		return inventory;
+	}
+
+	/**
+	 * {@return the item slot widget displaying the visible window}
+	 */
+	public WItemSlot getSlots() {
+		return slots;
+	}
+
+	/**
+	 * {@return the total number of rows in the inventory}
+	 */
+	public int getRowCount() {
+		return (inventory.size() + columns - 1) / columns;
+	}
+
+	/**
+	 * {@return the index of the first visible row}
+	 */
+	public int getFirstRow() {
+		return firstRow;
+	}
+
+	/**
+	 * Scrolls this grid on the client. The new window is requested from the server.
+	 *
+	 * @param row the index of the first visible row
+	 */
+	@Environment(EnvType.CLIENT)
+	public void setFirstRow(int row) {
+		scrollBar.setValue(row);
+		updateWindow();
+	}
+
+	@Override
+	public void validate(GuiDescription c) {
+		// The client only sees the synced window, not the whole inventory
+		if (c instanceof SyncedGuiDescription description && description.getNetworkSide() == NetworkSide.CLIENT) {
+			window.useClientBuffer();
+		}
+
+		scrollBar.setMaxValue(getRowCount());
+		super.validate(c);
+	}
+
+	@Environment(EnvType.CLIENT)
+	@Override
+	public void tick() {
+		super.tick();
+		// The scroll bar value can change in many ways, so it's checked every tick
+		updateWindow();
+	}
+
+	@Environment(EnvType.CLIENT)
+	private void updateWindow() {
+		int row = scrollBar.getValue();
+		if (row == firstRow) return;
+		firstRow = row;
+
+		if (host instanceof SyncedGuiDescription description) {
+			int slotId = slots.getPeerStartId();
+
+			if (slotId >= 0) {
+				var message = new WindowedInventory.ScrollMessage(slotId, row * columns);
+				description.getNetworking(NetworkSide.CLIENT).send(WindowedInventory.SCROLL_MESSAGE_KEY, message);
+				// The buffered stacks belong to the old window; the server resyncs the new one
+				window.clearClientBuffer();
+			}
+		}
+	}
+
+	@Environment(EnvType.CLIENT)
+	@Override
+	public InputResult onMouseScroll(int x, int y, double horizontalAmount, double verticalAmount) {
+		return scrollBar.onMouseScroll(0, 0, 0, verticalAmount);
+	}
+}
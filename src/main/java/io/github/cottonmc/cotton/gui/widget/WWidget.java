@@ -366,7 +366,8 @@ public class WWidget {
 	/**
 	 * Creates component peers and initializes animation data for this Widget and all its children.
 	 * The host {@linkplain net.minecraft.screen.ScreenHandler screen handler} must clear any heavyweight peers
-	 * from its records before this method is called.
+	 * from its records before this method is called, or validate the root panel with
+	 * {@link io.github.cottonmc.cotton.gui.SyncedGuiDescription#revalidateRootPanel()} to keep reused peers.
 	 *
 	 * <p>This method must be called on the root panel of any screen once the widgets have been initialized.
 	 *
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.BiPredicate;
 
 /**
  * An observable mutable property. Observable properties are containers for values
@@ -25,12 +26,14 @@ public final class ObservableProperty<T> implements ObservableView<T> {
 	private final List<ChangeListener<? super T>> listeners = new ArrayList<>();
 	private final boolean allowNull;
 	private final String name;
+	private final BiPredicate<? super T, ? super T> equality;
 
-	private ObservableProperty(@Nullable T value, boolean hasValue, boolean allowNull, String name) {
+	private ObservableProperty(@Nullable T value, boolean hasValue, boolean allowNull, String name, BiPredicate<? super T, ? super T> equality) {
 		this.value = value;
 		this.hasValue = hasValue;
 		this.allowNull = allowNull;
 		this.name = name;
+		this.equality = equality;
 
 		if (hasValue && value == null && !allowNull) {
 			throw new NullPointerException("Cannot initialise nonnull property " + name + " with null value");
@@ -85,7 +88,7 @@ public final class ObservableProperty<T> implements ObservableView<T> {
 		this.value = value;
 		hasValue = true;
 
-		if (!Objects.equals(oldValue, value)) {
+		if (!equality.test(oldValue, value)) {
 			for (ChangeListener<? super T> listener : listeners) {
 				listener.onPropertyChange(this, oldValue, value);
 			}
@@ -153,6 +156,7 @@ public final class ObservableProperty<T> implements ObservableView<T> {
 		private final boolean hasValue;
 		private String name = DEFAULT_NAME;
 		private boolean allowNull = true;
+		private BiPredicate<? super T, ? super T> equality = Objects::equals;
 
 		Builder(@Nullable T initialValue, boolean hasValue) {
 			this.initialValue = initialValue;
@@ -177,13 +181,27 @@ public final class ObservableProperty<T> implements ObservableView<T> {
 			return this;
 		}
 
+		/**
+		 * Sets the equality check used to determine whether a new value is a change.
+		 * Listeners are only notified if the old and new value are not equal.
+		 * The default equality check is {@link Objects#equals(Object, Object)}.
+		 *
+		 * @param equality the equality check, which must accept null values if they are allowed
+		 * @return this builder
+		 * @since 15.0.0
+		 */
+		public Builder<T> equality(BiPredicate<? super T, ? super T> equality) {
+			this.equality = Objects.requireNonNull(equality, "equality");
+			return this;
+		}
+
 		/**
 		 * Builds the observable property.
 		 *
 		 * @return the created property
 		 */
 		public ObservableProperty<T> build() {
-			return new ObservableProperty<>(initialValue, hasValue, allowNull, name);
+			return new ObservableProperty<>(initialValue, hasValue, allowNull, name, equality);
 		}
 	}
 }
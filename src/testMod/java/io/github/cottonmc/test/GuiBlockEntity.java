@@ -12,10 +12,16 @@ import net.minecraft.text.Text;
 import net.minecraft.util.collection.DefaultedList;
 import net.minecraft.util.math.BlockPos;
 
-public class GuiBlockEntity extends BlockEntity implements ImplementedInventory, NamedScreenHandlerFactory {
+import io.github.cottonmc.cotton.gui.ObservableInventory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GuiBlockEntity extends BlockEntity implements ImplementedInventory, ObservableInventory, NamedScreenHandlerFactory {
 	static final int INVENTORY_SIZE = 8;
 	
 	DefaultedList<ItemStack> items =  DefaultedList.ofSize(INVENTORY_SIZE, ItemStack.EMPTY);
+	private final List<SlotChangeListener> slotChangeListeners = new ArrayList<>();
 	
 	public GuiBlockEntity(BlockPos pos, BlockState state) {
 		super(LibGuiTest.GUI_BLOCKENTITY_TYPE, pos, state);
@@ -25,6 +31,54 @@ public class GuiBlockEntity extends BlockEntity implements ImplementedInventory,
 	public DefaultedList<ItemStack> getItems() {
 		return items;
 	}
+
+	@Override
+	public void addSlotChangeListener(SlotChangeListener listener) {
+		slotChangeListeners.add(listener);
+	}
+
+	@Override
+	public void removeSlotChangeListener(SlotChangeListener listener) {
+		slotChangeListeners.remove(listener);
+	}
+
+	private void notifySlotChanged(int slot) {
+		for (SlotChangeListener listener : slotChangeListeners) {
+			listener.onSlotChanged(this, slot);
+		}
+	}
+
+	@Override
+	public void setStack(int slot, ItemStack stack) {
+		ImplementedInventory.super.setStack(slot, stack);
+		notifySlotChanged(slot);
+	}
+
+	@Override
+	public ItemStack removeStack(int slot, int count) {
+		ItemStack result = ImplementedInventory.super.removeStack(slot, count);
+		notifySlotChanged(slot);
+		return result;
+	}
+
+	@Override
+	public ItemStack removeStack(int slot) {
+		ItemStack result = ImplementedInventory.super.removeStack(slot);
+		notifySlotChanged(slot);
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		ImplementedInventory.super.clear();
+		notifySlotChanged(ALL_SLOTS);
+	}
+
+	@Override
+	public void markDirty() {
+		super.markDirty();
+		notifySlotChanged(ALL_SLOTS);
+	}
 	
 	@Override
 	public boolean canPlayerUse(PlayerEntity player) {
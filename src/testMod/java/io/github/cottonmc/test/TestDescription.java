@@ -4,6 +4,7 @@ import com.mojang.datafixers.util.Unit;
 import com.mojang.serialization.Codec;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.Items;
+import net.minecraft.network.codec.PacketCodecs;
 import net.minecraft.screen.ScreenHandlerContext;
 import net.minecraft.screen.ScreenHandlerType;
 import net.minecraft.text.Text;
@@ -12,6 +13,7 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.biome.Biome;
 
+import io.github.cottonmc.cotton.gui.BulkOperation;
 import io.github.cottonmc.cotton.gui.SyncedGuiDescription;
 import io.github.cottonmc.cotton.gui.impl.LibGuiCommon;
 import io.github.cottonmc.cotton.gui.networking.DataSlot;
@@ -41,7 +43,7 @@ public class TestDescription extends SyncedGuiDescription {
 	);
 	private static final ScreenMessageKey<Integer> BUTTON_COLOR_DATA_SLOT = new ScreenMessageKey<>(
 		LibGuiCommon.id("button_color"),
-		Codec.INT
+		PacketCodecs.INTEGER
 	);
 
 	private static final int[] BUTTON_TEXT_COLORS = {
@@ -62,6 +64,7 @@ public class TestDescription extends SyncedGuiDescription {
 		WGridPanel root = (WGridPanel)this.getRootPanel();
 
 		WItemSlot slot = WItemSlot.of(blockInventory, 0, 4, 1);
+		slot.addCoalescedChangeListener((s, inventory, indices) -> System.out.println("Changed slots this tick: " + indices));
 		root.add(slot, 0, 1);
 
 		WButton buttonA = new WButton();
@@ -80,7 +83,9 @@ public class TestDescription extends SyncedGuiDescription {
 		root.add(buttonB, 5, 3, 4, 1);
 		TextureIcon testIcon = new TextureIcon(new Texture(LibGuiTest.id("icon.png")));
 		root.add(new WButton(testIcon, Text.literal("Button C")), 0, 5, 4, 1);
-		root.add(new WButton(Text.literal("Button D")), 5, 5, 4, 1);
+		WButton sortButton = new WButton(Text.literal("Sort"));
+		sortButton.setOnClick(() -> requestBulkOperation(new BulkOperation.Sort(BulkOperation.Target.BLOCK, BulkOperation.SortOrder.ITEM)));
+		root.add(sortButton, 5, 5, 4, 1);
 		root.add(new WTextField(Text.literal("Type something...")).setMaxLength(64), 0, 7, 5, 1);
 
 		root.add(new WLabel(Text.literal("Large Glass-only output:")), 0, 9);
@@ -139,5 +144,8 @@ public class TestDescription extends SyncedGuiDescription {
 		} catch (Throwable t) {
 			throw new AssertionError("ValidatedSlot.setVisible crashed", t);
 		}
+
+		// GuiBlockEntity is an ObservableInventory, so its slots are only compared after changes
+		enableDirtySlotTracking();
 	}
 }
@@ -16,6 +16,8 @@ import io.github.cottonmc.cotton.gui.client.CottonInventoryScreen;
 import io.github.cottonmc.cotton.gui.client.LightweightGuiDescription;
 import io.github.cottonmc.cotton.gui.client.WidgetHudElement;
 import io.github.cottonmc.cotton.gui.impl.modmenu.ConfigGui;
+import io.github.cottonmc.cotton.gui.networking.NetworkSide;
+import io.github.cottonmc.cotton.gui.networking.ScreenNetworkingMetrics;
 import io.github.cottonmc.cotton.gui.widget.WLabel;
 import io.github.cottonmc.test.LibGuiTest;
 import io.github.cottonmc.test.ReallySimpleDescription;
@@ -77,6 +79,14 @@ public class LibGuiTestClient implements ClientModInitializer {
 						.then(literal("list").executes(openScreen(client -> new ListTestGui())))
 						.then(literal("ghosticon").executes(openScreen(client -> new GhostIconTestGui())))
 						.then(literal("item").executes(openScreen(client -> new ItemTestGui())))
+						.then(literal("metrics").executes(context -> {
+							for (NetworkSide side : NetworkSide.values()) {
+								ScreenNetworkingMetrics.get(side).log();
+							}
+
+							context.getSource().sendFeedback(Text.literal("Logged screen networking metrics"));
+							return Command.SINGLE_SUCCESS;
+						}))
 		));
 	}
 